@@ -0,0 +1,82 @@
+package com.example.user_information.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+
+import com.example.user_information.ApiResponse;
+import com.example.user_information.Controller.UserController;
+import com.example.user_information.DTO.UserRegisterDTO;
+import com.example.user_information.Exception.GlobalExceptionHandler;
+import com.example.user_information.Exception.ResourceNotFoundException;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/*
+ * Error-body construction in GlobalExceptionHandler. The *Thrown variants also create the exception, which
+ * is what a request pays on a 404 (the stack trace fill is usually the larger part).
+ * Application logging is switched off by src/jmh/resources/logback-test.xml.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ErrorResponseBenchmark {
+
+    private GlobalExceptionHandler handler;
+    private MockHttpServletRequest request;
+    private ResourceNotFoundException notFound;
+    private MethodArgumentNotValidException invalid;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        handler = new GlobalExceptionHandler();
+        request = new MockHttpServletRequest("POST", "/user");
+        notFound = new ResourceNotFoundException("User Not Found with ID42");
+
+        UserRegisterDTO dto = new UserRegisterDTO("", "john@example.com", 30, "password", "9876543210");
+        BeanPropertyBindingResult result = new BeanPropertyBindingResult(dto, "userRegisterDTO");
+        result.rejectValue("name", "NotBlank", "Name is required");
+        result.rejectValue("password", "Pattern", "Password must contain upper, lower, number, and special character");
+        MethodParameter parameter = new MethodParameter(
+                UserController.class.getMethod("addUser", UserRegisterDTO.class, HttpServletRequest.class), 0);
+        invalid = new MethodArgumentNotValidException(parameter, result);
+    }
+
+    @Benchmark
+    public ResponseEntity<ApiResponse<List<String>>> notFound() {
+        return handler.handleNotFound(notFound, request);
+    }
+
+    @Benchmark
+    public ResponseEntity<ApiResponse<List<String>>> notFoundThrown() {
+        return handler.handleNotFound(new ResourceNotFoundException("User Not Found with ID42"), request);
+    }
+
+    @Benchmark
+    public ResponseEntity<ApiResponse<List<String>>> validationFailed() {
+        return handler.handleValidationException(invalid, request);
+    }
+
+    @Benchmark
+    public ResponseEntity<ApiResponse<List<String>>> illegalArgumentThrown() {
+        return handler.handleIllegalArgument(new IllegalArgumentException("Email already registered"), request);
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.user_information.benchmark;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+import java.io.File;
+import java.lang.reflect.Proxy;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.example.user_information.Config.CountingAsyncAppender;
+import com.example.user_information.Controller.UserController;
+import com.example.user_information.Entity.User;
+import com.example.user_information.Repository.UserRepo;
+import com.example.user_information.Service.UserImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.FileAppender;
+
+/*
+ * Request throughput of GET /user/{id} through the MVC stack with logging off, written synchronously by the
+ * request threads, or handed to the async appender of logback-spring.xml. The log goes to a file (not the
+ * console) so the numbers do not depend on the terminal.
+ *
+ * "levels": production is the current configuration (root INFO, rate-limited success lines); webDebug is
+ * the former org.springframework.web=DEBUG, four framework lines per request.
+ * The repository is a stub and the users cache is not in play, so every request reaches UserImpl. The MVC
+ * stack needs a long warm-up before the scores settle.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 6, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class LoggingBenchmark {
+
+    @Param({ "off", "sync", "async" })
+    private String appender;
+
+    @Param({ "production", "webDebug" })
+    private String levels;
+
+    private LoggerContext logging;
+    private File logFile;
+    private MockMvc mockMvc;
+
+    @Setup
+    public void setUp() throws Exception {
+        logFile = File.createTempFile("logging-benchmark", ".log");
+        configureLogging();
+
+        User user = new User(1L, "John", 30, "john@example.com", "9876543210", "$2a$10$hash");
+        UserRepo userRepo = (UserRepo) Proxy.newProxyInstance(UserRepo.class.getClassLoader(),
+                new Class<?>[] { UserRepo.class }, (proxy, method, args) -> {
+                    if (method.getName().equals("findById")) {
+                        return Optional.of(user);
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+        // Only getUserById is exercised, the collaborators it does not use are left out
+        UserImpl userService = new UserImpl(userRepo, null, null, null, null, null, new ObjectMapper(), null, null, null);
+        mockMvc = MockMvcBuilders.standaloneSetup(new UserController(userService, null)).build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        logging.stop();
+        System.out.printf("%nlog file %d KB, async events dropped %d%n", logFile.length() / 1024,
+                CountingAsyncAppender.droppedEvents());
+        logFile.delete();
+    }
+
+    @Benchmark
+    public int getUserById() throws Exception {
+        return mockMvc.perform(get("/user/{id}", 1L)).andReturn().getResponse().getStatus();
+    }
+
+    private void configureLogging() {
+        logging = (LoggerContext) LoggerFactory.getILoggerFactory();
+        logging.reset();
+
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(logging);
+        encoder.setPattern("%d{yyyy-MM-dd HH:mm:ss} - %msg %kvp%n");
+        encoder.start();
+
+        FileAppender<ILoggingEvent> file = new FileAppender<>();
+        file.setContext(logging);
+        file.setFile(logFile.getAbsolutePath());
+        file.setAppend(false);
+        file.setEncoder(encoder);
+        file.start();
+
+        Logger root = logging.getLogger(Logger.ROOT_LOGGER_NAME);
+        root.setLevel(appender.equals("off") ? Level.OFF : Level.INFO);
+        if (appender.equals("async")) {
+            // Same settings as logback-spring.xml
+            CountingAsyncAppender async = new CountingAsyncAppender();
+            async.setContext(logging);
+            async.setQueueSize(8192);
+            async.setDiscardingThreshold(1638);
+            async.setNeverBlock(true);
+            async.setIncludeCallerData(false);
+            async.addAppender(file);
+            async.start();
+            root.addAppender(async);
+        } else {
+            root.addAppender(file);
+        }
+        if (levels.equals("webDebug") && !appender.equals("off")) {
+            logging.getLogger("org.springframework.web").setLevel(Level.DEBUG);
+        }
+    }
+}
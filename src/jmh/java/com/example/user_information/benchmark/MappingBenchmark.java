@@ -0,0 +1,66 @@
+package com.example.user_information.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import com.example.user_information.DTO.UserRegisterDTO;
+import com.example.user_information.DTO.UserResponseDTO;
+import com.example.user_information.Entity.User;
+import com.example.user_information.Service.UserImpl;
+
+// Entity <-> DTO mapping done by UserImpl: registration, single read and a default-sized page of users
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MappingBenchmark {
+
+    private UserRegisterDTO dto;
+    private String passwordHash;
+    private User user;
+    private Page<User> page;
+
+    @Setup
+    public void setUp() {
+        dto = new UserRegisterDTO("John", "john@example.com", 30, "Pass@1234", "9876543210");
+        passwordHash = "$2a$10$N9qo8uLOickgx2ZMRZoMyeIjZAgcfl7p92ldGxad68LJZdL17lhWy";
+        user = new User(1L, "John", 30, "john@example.com", "9876543210", "Pass@1234");
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            users.add(new User((long) i, "User " + i, 30, "user" + i + "@example.com", "98765432" + (10 + i), "Pass@1234"));
+        }
+        page = new PageImpl<>(users, PageRequest.of(0, 10), 1_000);
+    }
+
+    @Benchmark
+    public User toEntity() {
+        return UserImpl.toEntity(dto, passwordHash, new User());
+    }
+
+    @Benchmark
+    public UserResponseDTO toResponse() {
+        return UserImpl.toResponse(user);
+    }
+
+    @Benchmark
+    public Page<UserResponseDTO> pageToResponse() {
+        return page.map(UserImpl::toResponse);
+    }
+}
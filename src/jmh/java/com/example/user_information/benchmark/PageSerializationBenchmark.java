@@ -0,0 +1,99 @@
+package com.example.user_information.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.example.user_information.ApiResponse;
+import com.example.user_information.Common.Status;
+import com.example.user_information.Config.JacksonConfig;
+import com.example.user_information.DTO.PageDTO;
+import com.example.user_information.DTO.UserResponseDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/*
+ * GET /user body at size=100 and size=1000: the former PageImpl against the ApiResponse<PageDTO> envelope,
+ * with Jackson's reflective bean serializers or the Blackbird module registered by JacksonConfig.
+ * Setup prints the bytes per page, plain and gzip-compressed as server.compression sends them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PageSerializationBenchmark {
+
+    @Param({ "100", "1000" })
+    private int size;
+
+    @Param({ "reflection", "blackbird" })
+    private String accessors;
+
+    private ObjectMapper objectMapper;
+    private Page<UserResponseDTO> page;
+    private ApiResponse<PageDTO<UserResponseDTO>> envelope;
+
+    @Setup
+    public void setUp() throws IOException {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        if (accessors.equals("blackbird")) {
+            builder.modulesToInstall(new JacksonConfig().blackbirdModule());
+        }
+        objectMapper = builder.build();
+
+        List<UserResponseDTO> users = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            users.add(new UserResponseDTO("User " + i, "user" + i + "@example.com", String.valueOf(9_876_500_000L + i),
+                    (long) i, 0L));
+        }
+        page = new PageImpl<>(users, PageRequest.of(0, size, Sort.by("id")), 100_000);
+        envelope = new ApiResponse<>(200, Status.SUCCESS, "Users fetched successfully", PageDTO.of(page), "/user",
+                LocalDateTime.now());
+
+        System.out.printf("%nsize=%d  PageImpl %d B (gzip %d B)  envelope %d B (gzip %d B)%n", size,
+                pageImpl().length, gzip(pageImpl()), envelope().length, gzip(envelope()));
+    }
+
+    @Benchmark
+    public byte[] pageImpl() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] envelope() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(envelope);
+    }
+
+    private static int gzip(byte[] body) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        }
+        return out.size();
+    }
+}
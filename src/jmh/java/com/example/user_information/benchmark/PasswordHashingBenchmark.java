@@ -0,0 +1,78 @@
+package com.example.user_information.benchmark;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import com.example.user_information.DTO.UserRegisterDTO;
+import com.example.user_information.Entity.User;
+import com.example.user_information.Service.UserImpl;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+
+/*
+ * Registrations per second per core for each BCrypt strength. One benchmark thread keeps one core busy, so
+ * the score is the per-core ceiling; the hashing pool's throughput is roughly score x user.password.hash.threads.
+ * "register" is the CPU part of POST /user (validation, hash, mapping), "hash" the BCrypt cost alone.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Threads(1)
+@Fork(1)
+public class PasswordHashingBenchmark {
+
+    @Param({ "8", "10", "12" })
+    private int strength;
+
+    private BCryptPasswordEncoder encoder;
+    private ValidatorFactory factory;
+    private Validator validator;
+    private UserRegisterDTO dto;
+
+    @Setup
+    public void setUp() {
+        encoder = new BCryptPasswordEncoder(strength);
+        factory = Validation.buildDefaultValidatorFactory();
+        validator = factory.getValidator();
+        dto = new UserRegisterDTO("John", "john@example.com", 30, "Pass@1234", "9876543210");
+    }
+
+    @TearDown
+    public void tearDown() {
+        factory.close();
+    }
+
+    @Benchmark
+    public String hash() {
+        return encoder.encode(dto.getPassword());
+    }
+
+    @Benchmark
+    public User register() {
+        Set<ConstraintViolation<UserRegisterDTO>> violations = validator.validate(dto);
+        if (!violations.isEmpty()) {
+            throw new IllegalStateException("Benchmark input must be valid");
+        }
+        return UserImpl.toEntity(dto, encoder.encode(dto.getPassword()), new User());
+    }
+}
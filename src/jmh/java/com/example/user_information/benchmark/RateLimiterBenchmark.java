@@ -0,0 +1,92 @@
+package com.example.user_information.benchmark;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.user_information.Common.TokenBucketLimiter;
+
+/*
+ * Rate limiter cost per request with 64 request threads: each thread its own client (the common case),
+ * or all of them on one client's bucket (one integrator flooding an operation, worst-case CAS contention).
+ * "locked" is the same token bucket behind one synchronized HashMap, the design the lock-free one replaces.
+ * Buckets never run dry, so every call takes the full admit path.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(64)
+@Fork(1)
+public class RateLimiterBenchmark {
+
+    private static final long CAPACITY = 1_000_000_000L;
+    private static final double PER_SECOND = 1e9;
+
+    private TokenBucketLimiter limiter;
+    private LockedLimiter locked;
+
+    @State(Scope.Thread)
+    public static class Client {
+        private static final AtomicInteger NEXT = new AtomicInteger();
+        private final String id = "ip:10.0.0." + NEXT.getAndIncrement();
+    }
+
+    @Setup
+    public void setUp() {
+        limiter = new TokenBucketLimiter(new long[] { CAPACITY, CAPACITY }, new double[] { PER_SECOND, PER_SECOND },
+                100_000);
+        locked = new LockedLimiter(CAPACITY, PER_SECOND);
+    }
+
+    @Benchmark
+    public boolean distinctClients(Client client) {
+        return limiter.tryAcquire(client.id, 0, System.nanoTime()).allowed();
+    }
+
+    @Benchmark
+    public boolean sharedClient() {
+        return limiter.tryAcquire("ip:10.0.0.1", 1, System.nanoTime()).allowed();
+    }
+
+    @Benchmark
+    public boolean lockedDistinctClients(Client client) {
+        return locked.tryAcquire(client.id, System.nanoTime());
+    }
+
+    private static final class LockedLimiter {
+        private final Map<String, double[]> buckets = new HashMap<>();  // -> tokens, last refill
+        private final double capacity;
+        private final double perNano;
+
+        private LockedLimiter(long capacity, double perSecond) {
+            this.capacity = capacity;
+            this.perNano = perSecond / 1e9;
+        }
+
+        private synchronized boolean tryAcquire(String client, long now) {
+            double[] bucket = buckets.computeIfAbsent(client, key -> new double[] { capacity, now });
+            bucket[0] = Math.min(capacity, bucket[0] + (now - bucket[1]) * perNano);
+            bucket[1] = now;
+            if (bucket[0] < 1) {
+                return false;
+            }
+            bucket[0]--;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.user_information.benchmark;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.user_information.DTO.UserRegisterDTO;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+
+/*
+ * Bean Validation of UserRegisterDTO, as run for every POST /user, PUT /user/{id} and batch/import record.
+ * The password @Pattern uses four lookaheads, so a long valid password and a failing one are measured apart.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidationBenchmark {
+
+    private ValidatorFactory factory;
+    private Validator validator;
+
+    private UserRegisterDTO valid;
+    private UserRegisterDTO longPassword;
+    private UserRegisterDTO weakPassword;
+    private UserRegisterDTO allInvalid;
+
+    @Setup
+    public void setUp() {
+        factory = Validation.buildDefaultValidatorFactory();
+        validator = factory.getValidator();
+        valid = new UserRegisterDTO("John", "john@example.com", 30, "Pass@1234", "9876543210");
+        longPassword = new UserRegisterDTO("John", "john@example.com", 30, "Pass@1234".repeat(8), "9876543210");
+        weakPassword = new UserRegisterDTO("John", "john@example.com", 30, "password1234", "9876543210");
+        allInvalid = new UserRegisterDTO("", "not-an-email", 0, "short", "12ab");
+    }
+
+    @TearDown
+    public void tearDown() {
+        factory.close();
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<UserRegisterDTO>> valid() {
+        return validator.validate(valid);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<UserRegisterDTO>> validLongPassword() {
+        return validator.validate(longPassword);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<UserRegisterDTO>> weakPassword() {
+        return validator.validate(weakPassword);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<UserRegisterDTO>> allFieldsInvalid() {
+        return validator.validate(allInvalid);
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.user_information.Common;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/*
+ * Concurrency limit adjusted by additive increase / multiplicative decrease from request latency.
+ *
+ * A request that took longer than the threshold, or finished while the caller saw congestion (threads
+ * waiting for a DB connection), shrinks the limit by the backoff ratio. A fast one grows it by one, but only
+ * while at least half of the limit is in use, so an idle service does not drift to the maximum and then
+ * admit a burst it cannot serve. Admission is a CAS on the in-flight count; only completions lock, with a
+ * ReentrantLock rather than a monitor so a virtual thread never pins its carrier here.
+ */
+public final class AdaptiveLimit {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+    private final double backoffRatio;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile int limit;
+    private double exactLimit;  // -> guarded by lock, limit is its integer part
+
+    public AdaptiveLimit(int initialLimit, int minLimit, int maxLimit, long latencyThresholdNanos,
+                         double backoffRatio) {
+        if (minLimit < 1 || minLimit > maxLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Limits must satisfy 1 <= min <= initial <= max");
+        }
+        if (backoffRatio <= 0 || backoffRatio >= 1) {
+            throw new IllegalArgumentException("Backoff ratio must be between 0 and 1");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyThresholdNanos = latencyThresholdNanos;
+        this.backoffRatio = backoffRatio;
+        this.limit = initialLimit;
+        this.exactLimit = initialLimit;
+    }
+
+    public boolean tryAcquire() {
+        int current;
+        do {
+            current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+        } while (!inFlight.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    // Completion of an admitted request, with its latency and whether the backend was congested meanwhile
+    public void release(long latencyNanos, boolean congested) {
+        int inFlightBefore = inFlight.getAndDecrement();
+        lock.lock();
+        try {
+            if (congested || latencyNanos > latencyThresholdNanos) {
+                exactLimit = Math.max(minLimit, exactLimit * backoffRatio);
+            } else if (inFlightBefore * 2 >= limit) {
+                exactLimit = Math.min(maxLimit, exactLimit + 1);
+            }
+            limit = (int) exactLimit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Completion that says nothing about backend latency (e.g. a long streaming response)
+    public void release() {
+        inFlight.decrementAndGet();
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
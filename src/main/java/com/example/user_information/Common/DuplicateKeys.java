@@ -0,0 +1,34 @@
+package com.example.user_information.Common;
+
+import java.util.Locale;
+
+import org.hibernate.exception.ConstraintViolationException;
+
+import com.example.user_information.Entity.User;
+
+// Maps a violated unique key of the user table back to the message the existence checks produce
+public final class DuplicateKeys {
+
+    private DuplicateKeys() {
+    }
+
+    // null when the failure is not one of the user unique keys
+    public static String message(Throwable ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            String text = cause instanceof ConstraintViolationException violation && violation.getConstraintName() != null
+                    ? violation.getConstraintName()
+                    : cause.getMessage();
+            if (text == null) {
+                continue;
+            }
+            text = text.toLowerCase(Locale.ROOT);
+            if (text.contains(User.EMAIL_UNIQUE)) {
+                return "Email already registered";
+            }
+            if (text.contains(User.PHONE_NO_UNIQUE)) {
+                return "Phone number already registered";
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.user_information.Common;
+
+import org.springframework.http.MediaType;
+
+public enum ExportFormat {
+
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+
+    private final MediaType mediaType;
+    private final String extension;
+
+    ExportFormat(String mediaType, String extension) {
+        this.mediaType = MediaType.parseMediaType(mediaType);
+        this.extension = extension;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    // An explicit ?format= wins, otherwise the first acceptable media type; NDJSON by default
+    public static ExportFormat resolve(String format, String accept) {
+        if (format != null && !format.isBlank()) {
+            for (ExportFormat candidate : values()) {
+                if (candidate.extension.equalsIgnoreCase(format)) {
+                    return candidate;
+                }
+            }
+            throw new IllegalArgumentException("Unsupported export format: " + format);
+        }
+        if (accept != null) {
+            for (MediaType type : MediaType.parseMediaTypes(accept)) {
+                if (type.isWildcardType()) {
+                    break;
+                }
+                for (ExportFormat candidate : values()) {
+                    if (type.includes(candidate.mediaType)) {
+                        return candidate;
+                    }
+                }
+            }
+        }
+        return NDJSON;
+    }
+}
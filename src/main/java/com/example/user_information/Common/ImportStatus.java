@@ -0,0 +1,9 @@
+package com.example.user_information.Common;
+
+public enum ImportStatus {
+
+	 RUNNING,
+	 COMPLETED,
+	 FAILED
+
+}
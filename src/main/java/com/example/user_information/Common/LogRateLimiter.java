@@ -0,0 +1,38 @@
+package com.example.user_information.Common;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * Lets one log statement through per interval, for success paths that run on every request.
+ *
+ * The check is a nanoTime read and a volatile read; only the caller that opens a new interval does a CAS,
+ * so request threads do not contend on it. Skipped events are counted and handed to the next logged one
+ * (drainSuppressed), the log still shows the volume.
+ */
+public final class LogRateLimiter {
+
+    private final long intervalNanos;
+    private final AtomicLong nextAllowed = new AtomicLong(System.nanoTime());
+    private final LongAdder suppressed = new LongAdder();
+
+    public LogRateLimiter(Duration interval) {
+        this.intervalNanos = interval.toNanos();
+    }
+
+    public boolean tryAcquire() {
+        long now = System.nanoTime();
+        long next = nextAllowed.get();
+        if (now - next >= 0 && nextAllowed.compareAndSet(next, now + intervalNanos)) {
+            return true;
+        }
+        suppressed.increment();
+        return false;
+    }
+
+    // Events skipped since the last call
+    public long drainSuppressed() {
+        return suppressed.sumThenReset();
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.user_information.Common;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/*
+ * Token buckets per client and operation, lock-free.
+ *
+ * A bucket is a single long: the time at which it will be full again ("theoretical arrival time", GCRA).
+ * Taking a token moves that time one refill interval later, which is allowed while it stays within
+ * capacity intervals of now; the remaining tokens and the reset time follow from the same value. So a
+ * request costs one ConcurrentHashMap read and one CAS, and a client's buckets for all operations share
+ * one AtomicLongArray.
+ *
+ * A bucket whose time has passed is full and holds no information, so clients whose buckets are all full
+ * can be dropped (evictIdle) without changing any answer. Eviction retires a client's buckets under the map's
+ * lock and backs off if a token was taken meanwhile; a request still holding retired buckets looks the client
+ * up again, so no token is taken from an entry that is no longer in the map. Past maxClients, unseen clients share one overflow
+ * entry until the next eviction, which keeps memory bounded when keys are invented per request.
+ */
+public final class TokenBucketLimiter {
+
+    public record Decision(boolean allowed, long limit, long remaining, long resetNanos, long retryAfterNanos) { }
+
+    private static final String OVERFLOW = "\u0000overflow";
+    // Marks the buckets of an evicted client; refill times are derived from nanoTime and never hit it
+    private static final long RETIRED = Long.MIN_VALUE;
+
+    private final long[] capacity;
+    private final long[] intervalNanos;
+    private final int maxClients;
+    private final ConcurrentHashMap<String, AtomicLongArray> clients = new ConcurrentHashMap<>();
+
+    // capacity[op] tokens, refilled at perSecond[op] tokens per second
+    public TokenBucketLimiter(long[] capacity, double[] perSecond, int maxClients) {
+        if (capacity.length != perSecond.length) {
+            throw new IllegalArgumentException("One capacity and one rate per operation");
+        }
+        this.capacity = capacity.clone();
+        this.intervalNanos = new long[capacity.length];
+        for (int op = 0; op < capacity.length; op++) {
+            if (capacity[op] < 1 || perSecond[op] <= 0) {
+                throw new IllegalArgumentException("Capacity and rate must be positive");
+            }
+            intervalNanos[op] = Math.max(1, Math.round(1_000_000_000L / perSecond[op]));
+        }
+        this.maxClients = maxClients;
+    }
+
+    public Decision tryAcquire(String client, int op, long nowNanos) {
+        AtomicLongArray buckets = buckets(client, nowNanos);
+        long interval = intervalNanos[op];
+        long window = capacity[op] * interval;
+        while (true) {
+            long full = buckets.get(op);
+            if (full == RETIRED) {
+                // Evicted since the lookup: take the token from the client's current entry
+                buckets = buckets(client, nowNanos);
+                continue;
+            }
+            // nanoTime values are compared by difference, they may wrap
+            long next = (full - nowNanos > 0 ? full : nowNanos) + interval;
+            long ahead = next - nowNanos;
+            if (ahead > window) {
+                long freeIn = Math.max(1, full - nowNanos);
+                return new Decision(false, capacity[op], 0, freeIn, ahead - window);
+            }
+            if (buckets.compareAndSet(op, full, next)) {
+                return new Decision(true, capacity[op], (window - ahead) / interval, ahead, 0);
+            }
+        }
+    }
+
+    // Drops clients whose buckets are all full again; returns how many are still tracked
+    public int evictIdle(long nowNanos) {
+        clients.forEach((client, buckets) -> {
+            if (isFull(buckets, nowNanos)) {
+                // Checked again under the map's lock, a take may have landed since
+                clients.computeIfPresent(client,
+                        (key, current) -> current == buckets && retire(current, nowNanos) ? null : current);
+            }
+        });
+        return clients.size();
+    }
+
+    public int size() {
+        return clients.size();
+    }
+
+    private AtomicLongArray buckets(String client, long nowNanos) {
+        AtomicLongArray buckets = clients.get(client);
+        if (buckets != null) {
+            return buckets;
+        }
+        String key = clients.size() < maxClients ? client : OVERFLOW;
+        return clients.computeIfAbsent(key, ignored -> newBuckets(nowNanos));
+    }
+
+    private AtomicLongArray newBuckets(long nowNanos) {
+        // A full bucket: its refill time is long past
+        AtomicLongArray buckets = new AtomicLongArray(capacity.length);
+        long past = nowNanos - (1L << 62);
+        for (int op = 0; op < capacity.length; op++) {
+            buckets.set(op, past);
+        }
+        return buckets;
+    }
+
+    // Retires all buckets if they are all still full; a concurrent take makes it restore them and give up
+    private static boolean retire(AtomicLongArray buckets, long nowNanos) {
+        long[] previous = new long[buckets.length()];
+        for (int op = 0; op < buckets.length(); op++) {
+            previous[op] = buckets.get(op);
+            if (previous[op] - nowNanos > 0 || !buckets.compareAndSet(op, previous[op], RETIRED)) {
+                for (int undo = 0; undo < op; undo++) {
+                    buckets.set(undo, previous[undo]);
+                }
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isFull(AtomicLongArray buckets, long nowNanos) {
+        for (int op = 0; op < buckets.length(); op++) {
+            if (buckets.get(op) - nowNanos > 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
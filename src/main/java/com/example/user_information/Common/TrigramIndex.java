@@ -0,0 +1,232 @@
+package com.example.user_information.Common;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+ * Case-insensitive substring index over the name and email of users.
+ *
+ * Every trigram of either field maps to the ascending list of documents containing it. A query walks the
+ * shortest list of its trigrams, keeps the documents that are also in the next shortest ones and verifies the
+ * survivors against the full query, so its cost follows the rarest trigram instead of the number of users.
+ * A changed user gets a new document; the old one becomes garbage that is compacted away once it outweighs
+ * the live documents.
+ *
+ * Not thread-safe, UserSearchIndex serialises writers against readers.
+ */
+public class TrigramIndex {
+
+    public record Hit(long id, String name, String email) { }
+
+    public static final int MIN_QUERY_LENGTH = 3;
+
+    // Rough JVM footprint, used for the memory cap and the size metric
+    private static final long BYTES_PER_SLOT = 8 + 2 * 4;      // id and two string references per document slot
+    private static final long BYTES_PER_ID_ENTRY = 64;         // id map entry with boxed key and value
+    private static final long BYTES_PER_STRING = 48;           // String and its byte[] headers
+    private static final long BYTES_PER_TRIGRAM = 112;         // map entry, boxed key, Postings, int[] header
+
+    private static final long REMOVED = Long.MIN_VALUE;
+
+    private static final class Postings {
+        private int[] docs = new int[2];
+        private int size;
+    }
+
+    private long[] ids = new long[1024];
+    private String[] names = new String[1024];
+    private String[] emails = new String[1024];
+    private int documents;
+    private int garbage;
+    private final Map<Long, Integer> docById = new HashMap<>();
+    private final Map<Long, Postings> postings = new HashMap<>();
+
+    private long stringBytes;
+    private long postingCapacity;
+
+    // Adds the user or replaces its previous name and email
+    public void put(long id, String name, String email) {
+        remove(id);
+        if (documents == ids.length) {
+            int capacity = documents + (documents >> 1);
+            ids = Arrays.copyOf(ids, capacity);
+            names = Arrays.copyOf(names, capacity);
+            emails = Arrays.copyOf(emails, capacity);
+        }
+        int doc = documents++;
+        ids[doc] = id;
+        names[doc] = name;
+        emails[doc] = email;
+        docById.put(id, doc);
+        stringBytes += stringBytes(name) + stringBytes(email);
+        addTrigrams(doc, name);
+        addTrigrams(doc, email);
+    }
+
+    public boolean remove(long id) {
+        Integer doc = docById.remove(id);
+        if (doc == null) {
+            return false;
+        }
+        stringBytes -= stringBytes(names[doc]) + stringBytes(emails[doc]);
+        ids[doc] = REMOVED;
+        names[doc] = null;
+        emails[doc] = null;
+        if (++garbage > Math.max(1024, docById.size())) {
+            compact();
+        }
+        return true;
+    }
+
+    /*
+     * Up to limit users whose name or email contains the query, ignoring case. Prefix matches of either field
+     * rank first, then the other matches; within each group the oldest documents come first.
+     */
+    public List<Hit> search(String query, int limit) {
+        String q = lowerCase(query);
+        if (q.length() < MIN_QUERY_LENGTH) {
+            throw new IllegalArgumentException("Search query must be at least " + MIN_QUERY_LENGTH + " characters");
+        }
+        List<Postings> lists = new ArrayList<>(q.length() - 2);
+        for (int i = 0; i + 3 <= q.length(); i++) {
+            Postings list = postings.get(trigram(q, i));
+            if (list == null) {
+                return List.of();
+            }
+            lists.add(list);
+        }
+        lists.sort((a, b) -> Integer.compare(a.size, b.size));
+
+        List<Hit> prefixHits = new ArrayList<>();
+        List<Hit> otherHits = new ArrayList<>();
+        Postings shortest = lists.get(0);
+        int filters = Math.min(3, lists.size());
+        for (int i = 0; i < shortest.size && prefixHits.size() < limit; i++) {
+            int doc = shortest.docs[i];
+            if (ids[doc] == REMOVED || !inAll(lists, filters, doc)) {
+                continue;
+            }
+            int inName = indexOf(names[doc], q);
+            int inEmail = indexOf(emails[doc], q);
+            if (inName == 0 || inEmail == 0) {
+                prefixHits.add(hit(doc));
+            } else if ((inName > 0 || inEmail > 0) && otherHits.size() < limit) {
+                otherHits.add(hit(doc));
+            }
+        }
+        for (int i = 0; prefixHits.size() < limit && i < otherHits.size(); i++) {
+            prefixHits.add(otherHits.get(i));
+        }
+        return prefixHits;
+    }
+
+    public int size() {
+        return docById.size();
+    }
+
+    public int trigrams() {
+        return postings.size();
+    }
+
+    public long estimatedBytes() {
+        return ids.length * BYTES_PER_SLOT + docById.size() * BYTES_PER_ID_ENTRY + stringBytes
+                + postings.size() * BYTES_PER_TRIGRAM + postingCapacity * 4;
+    }
+
+    // Rewrites the live documents into fresh arrays and posting lists, dropping removed and replaced ones
+    public void compact() {
+        long[] oldIds = ids;
+        String[] oldNames = names;
+        String[] oldEmails = emails;
+        int oldDocuments = documents;
+        int capacity = Math.max(1024, docById.size() + (docById.size() >> 1));
+        ids = new long[capacity];
+        names = new String[capacity];
+        emails = new String[capacity];
+        documents = 0;
+        garbage = 0;
+        docById.clear();
+        postings.clear();
+        stringBytes = 0;
+        postingCapacity = 0;
+        for (int doc = 0; doc < oldDocuments; doc++) {
+            if (oldIds[doc] != REMOVED) {
+                put(oldIds[doc], oldNames[doc], oldEmails[doc]);
+            }
+        }
+    }
+
+    private void addTrigrams(int doc, String text) {
+        if (text == null) {
+            return;
+        }
+        String lower = lowerCase(text);
+        for (int i = 0; i + 3 <= lower.length(); i++) {
+            Postings list = postings.computeIfAbsent(trigram(lower, i), key -> {
+                postingCapacity += 2;
+                return new Postings();
+            });
+            // Documents are appended in ascending order, a repeated trigram of the same document is skipped
+            if (list.size > 0 && list.docs[list.size - 1] == doc) {
+                continue;
+            }
+            if (list.size == list.docs.length) {
+                int grown = list.size + Math.max(2, list.size >> 1);
+                postingCapacity += grown - list.docs.length;
+                list.docs = Arrays.copyOf(list.docs, grown);
+            }
+            list.docs[list.size++] = doc;
+        }
+    }
+
+    private Hit hit(int doc) {
+        return new Hit(ids[doc], names[doc], emails[doc]);
+    }
+
+    private static boolean inAll(List<Postings> lists, int count, int doc) {
+        for (int i = 1; i < count; i++) {
+            Postings list = lists.get(i);
+            if (Arrays.binarySearch(list.docs, 0, list.size, doc) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Position of the lower-case query in text, compared char by char so no lower-case copy is allocated
+    private static int indexOf(String text, String lowerQuery) {
+        if (text == null) {
+            return -1;
+        }
+        outer:
+        for (int i = 0; i + lowerQuery.length() <= text.length(); i++) {
+            for (int j = 0; j < lowerQuery.length(); j++) {
+                if (Character.toLowerCase(text.charAt(i + j)) != lowerQuery.charAt(j)) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    private static long trigram(String lower, int at) {
+        return ((long) lower.charAt(at) << 32) | ((long) lower.charAt(at + 1) << 16) | lower.charAt(at + 2);
+    }
+
+    // Per char, so positions in the lower-case form match the original text
+    private static String lowerCase(String text) {
+        char[] chars = text.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = Character.toLowerCase(chars[i]);
+        }
+        return new String(chars);
+    }
+
+    private static long stringBytes(String value) {
+        return value == null ? 0 : BYTES_PER_STRING + value.length();
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.user_information.Common;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.data.domain.Sort;
+
+import com.example.user_information.Entity.User;
+
+/*
+ * Opaque cursor for keyset (seek) pagination over the user table.
+ * It carries the sort column, the direction and the (sortKey, id) pair of the last row of the previous
+ * slice, so the next query can seek with "where (sortKey, id) > (?, ?)" instead of scanning an OFFSET.
+ */
+public record UserCursor(String sortBy, Sort.Direction direction, Object value, long id) {
+
+    public static final Set<String> SORT_KEYS = Set.of("id", "name", "email", "age");
+
+    public static void checkSortKey(String sortBy) {
+        if (!SORT_KEYS.contains(sortBy)) {
+            throw new IllegalArgumentException("Cursor pagination can only sort by " + SORT_KEYS);
+        }
+    }
+
+    public static UserCursor of(User user, String sortBy, Sort.Direction direction) {
+        Object value = switch (sortBy) {
+            case "name" -> user.getName();
+            case "email" -> user.getEmail();
+            case "age" -> user.getAge();
+            default -> user.getId();
+        };
+        return new UserCursor(sortBy, direction, value, user.getId());
+    }
+
+    // Keys for ScrollPosition.forward(): the sort column plus the id tie-breaker, typed like the entity fields
+    public Map<String, Object> keys() {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        if (!"id".equals(sortBy)) {
+            keys.put(sortBy, value);
+        }
+        keys.put("id", id);
+        return keys;
+    }
+
+    public String encode() {
+        String raw = sortBy + '\n' + direction.name() + '\n' + id + '\n' + value;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static UserCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\n", 4);
+            String sortBy = parts[0];
+            checkSortKey(sortBy);
+            long id = Long.parseLong(parts[2]);
+            Object value = switch (sortBy) {
+                case "age" -> Integer.valueOf(parts[3]);
+                case "id" -> id;
+                default -> parts[3];
+            };
+            return new UserCursor(sortBy, Sort.Direction.valueOf(parts[1]), value, id);
+        } catch (RuntimeException ex) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
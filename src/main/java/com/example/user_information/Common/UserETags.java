@@ -0,0 +1,84 @@
+package com.example.user_information.Common;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+import org.springframework.data.domain.Page;
+
+import com.example.user_information.DTO.UserResponseDTO;
+
+/*
+ * Strong ETags derived from row versions, never from serialized bodies.
+ *
+ * A user is "<id>.<version>". A page is a SHA-256 digest (first 128 bits) of its number, size, sort, the
+ * total and every (id, version) on it: any insert, delete or change that affects the page changes its tag,
+ * and a tag never validates a different slice of the table.
+ */
+public final class UserETags {
+
+    // Result of expectedVersion() for an If-Match that cannot match any version
+    public static final long NO_MATCH = -1;
+
+    private UserETags() {
+    }
+
+    // null when the DTO carries no version (nothing to validate against)
+    public static String of(UserResponseDTO user) {
+        if (user.getId() == null || user.getVersion() == null) {
+            return null;
+        }
+        return "\"" + user.getId() + "." + user.getVersion() + "\"";
+    }
+
+    public static String of(Page<UserResponseDTO> page) {
+        MessageDigest digest = sha256();
+        ByteBuffer buffer = ByteBuffer.allocate(2 * Long.BYTES);
+        digest.update(buffer.putLong(page.getNumber()).putLong(page.getSize()).flip());
+        digest.update(page.getSort().toString().getBytes(StandardCharsets.UTF_8));
+        digest.update(buffer.clear().putLong(page.getTotalElements()).flip());
+        for (UserResponseDTO user : page) {
+            if (user.getId() == null || user.getVersion() == null) {
+                return null;
+            }
+            digest.update(buffer.clear().putLong(user.getId()).putLong(user.getVersion()).flip());
+        }
+        return "\"p" + HexFormat.of().formatHex(digest.digest(), 0, 16) + "\"";
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            // Every Java platform is required to provide SHA-256
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /*
+     * Version a PUT/DELETE requires from If-Match: null when the header is absent or "*", NO_MATCH when it
+     * is weak (If-Match uses strong comparison), belongs to another user or is not one of our tags.
+     * A single entity tag is supported, which is what clients echo back.
+     */
+    public static Long expectedVersion(String ifMatch, Long id) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.length() < 2 || tag.charAt(0) != '"' || tag.charAt(tag.length() - 1) != '"') {
+            return NO_MATCH;
+        }
+        String value = tag.substring(1, tag.length() - 1);
+        int dot = value.indexOf('.');
+        if (dot < 0 || !value.substring(0, dot).equals(String.valueOf(id))) {
+            return NO_MATCH;
+        }
+        try {
+            return Long.parseLong(value.substring(dot + 1));
+        } catch (NumberFormatException ex) {
+            return NO_MATCH;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.user_information.Config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+// Token check for the /admin endpoints (user.admin.token)
+@Configuration
+public class AdminAccessConfig implements WebMvcConfigurer {
+
+    private final AdminAccessInterceptor interceptor;
+
+    public AdminAccessConfig(@Value("${user.admin.token:}") String token) {
+        this.interceptor = new AdminAccessInterceptor(token);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(interceptor).addPathPatterns("/admin", "/admin/**").order(Ordered.HIGHEST_PRECEDENCE);
+    }
+}
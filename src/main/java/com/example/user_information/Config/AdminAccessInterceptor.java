@@ -0,0 +1,41 @@
+package com.example.user_information.Config;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import com.example.user_information.Exception.ForbiddenException;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/*
+ * Guards the /admin endpoints: runtime tuning and full-table index rebuilds are not for API clients.
+ *
+ * A request needs the X-Admin-Token header equal to user.admin.token. Without a configured token every
+ * admin request is refused, so a deployment that never sets one exposes nothing.
+ */
+public class AdminAccessInterceptor implements HandlerInterceptor {
+
+    public static final String TOKEN_HEADER = "X-Admin-Token";
+
+    private final byte[] token;
+
+    public AdminAccessInterceptor(String token) {
+        this.token = token == null || token.isBlank() ? null : token.strip().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (token == null) {
+            throw new ForbiddenException("Admin endpoints are disabled, user.admin.token is not set");
+        }
+        String presented = request.getHeader(TOKEN_HEADER);
+        // Constant-time comparison, the time taken does not tell how much of a guessed token is right
+        if (presented == null || !MessageDigest.isEqual(token, presented.getBytes(StandardCharsets.UTF_8))) {
+            throw new ForbiddenException("Missing or invalid " + TOKEN_HEADER);
+        }
+        return true;
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.user_information.Config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.example.user_information.Common.AdaptiveLimit;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+// Adaptive admission control for the /user endpoints (user.admission.* properties)
+@Configuration
+@ConditionalOnProperty(name = "user.admission.enabled", matchIfMissing = true)
+public class AdmissionControlConfig implements WebMvcConfigurer {
+
+    private final AdmissionControlInterceptor interceptor;
+
+    public AdmissionControlConfig(ObjectProvider<MeterRegistry> registry,
+            ObjectProvider<HikariDataSource> pool,
+            @Value("${user.admission.reads.initial-limit:100}") int readsInitial,
+            @Value("${user.admission.reads.min-limit:8}") int readsMin,
+            @Value("${user.admission.reads.max-limit:500}") int readsMax,
+            @Value("${user.admission.reads.latency-threshold:250ms}") Duration readsThreshold,
+            @Value("${user.admission.writes.initial-limit:50}") int writesInitial,
+            @Value("${user.admission.writes.min-limit:4}") int writesMin,
+            @Value("${user.admission.writes.max-limit:200}") int writesMax,
+            @Value("${user.admission.writes.latency-threshold:1s}") Duration writesThreshold,
+            @Value("${user.admission.backoff-ratio:0.9}") double backoffRatio,
+            @Value("${user.admission.retry-after:1s}") Duration retryAfter) {
+
+        // The primary pool: Boot's, or the one ReadReplicaConfig builds
+        HikariDataSource dataSource = pool.getIfUnique();
+        this.interceptor = new AdmissionControlInterceptor(
+                new AdaptiveLimit(readsInitial, readsMin, readsMax, readsThreshold.toNanos(), backoffRatio),
+                new AdaptiveLimit(writesInitial, writesMin, writesMax, writesThreshold.toNanos(), backoffRatio),
+                () -> {
+                    HikariPoolMXBean mxBean = dataSource == null ? null : dataSource.getHikariPoolMXBean();
+                    return mxBean == null ? 0 : mxBean.getThreadsAwaitingConnection();
+                },
+                Math.max(1, retryAfter.toSeconds()),
+                registry.getIfAvailable(SimpleMeterRegistry::new));
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(interceptor).addPathPatterns("/user", "/user/**");
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.user_information.Config;
+
+import java.util.function.IntSupplier;
+
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import com.example.user_information.Common.AdaptiveLimit;
+import com.example.user_information.Exception.ServiceUnavailableException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/*
+ * Admission control in front of UserController: separate adaptive in-flight limits for reads (GET/HEAD)
+ * and writes, so a write backlog cannot starve reads and the other way round.
+ *
+ * A request over its lane's limit fails fast with ServiceUnavailableException, which GlobalExceptionHandler
+ * turns into a 503 ApiResponse with Retry-After, instead of queueing a Tomcat thread on the Hikari pool.
+ * Limits adapt on completion (AdaptiveLimit); threads waiting for a pool connection count as congestion.
+ * Asynchronous responses (exports) hold their slot until they complete but do not feed their duration
+ * back into the limit.
+ */
+public class AdmissionControlInterceptor implements AsyncHandlerInterceptor {
+
+    public static final String METRIC = "user.admission";
+
+    private static final String ADMISSION = AdmissionControlInterceptor.class.getName() + ".admission";
+
+    private record Lane(String name, AdaptiveLimit limit, Counter admitted, Counter rejected) { }
+
+    private static final class Admission {
+        private final Lane lane;
+        private final long started = System.nanoTime();
+        private boolean async;
+
+        private Admission(Lane lane) {
+            this.lane = lane;
+        }
+    }
+
+    private final Lane reads;
+    private final Lane writes;
+    private final IntSupplier poolWaiters;
+    private final long retryAfterSeconds;
+
+    public AdmissionControlInterceptor(AdaptiveLimit reads, AdaptiveLimit writes, IntSupplier poolWaiters,
+                                       long retryAfterSeconds, MeterRegistry registry) {
+        this.reads = lane("read", reads, registry);
+        this.writes = lane("write", writes, registry);
+        this.poolWaiters = poolWaiters;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // Dispatch that completes an async request admitted earlier
+        if (request.getAttribute(ADMISSION) != null) {
+            return true;
+        }
+        Lane lane = switch (request.getMethod()) {
+            case "GET", "HEAD" -> reads;
+            default -> writes;
+        };
+        if (!lane.limit().tryAcquire()) {
+            lane.rejected().increment();
+            throw new ServiceUnavailableException("Too many concurrent " + lane.name() + " requests, retry later",
+                    retryAfterSeconds);
+        }
+        lane.admitted().increment();
+        request.setAttribute(ADMISSION, new Admission(lane));
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        if (request.getAttribute(ADMISSION) instanceof Admission admission) {
+            admission.async = true;
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        if (!(request.getAttribute(ADMISSION) instanceof Admission admission)) {
+            return;
+        }
+        request.removeAttribute(ADMISSION);
+        if (admission.async) {
+            admission.lane.limit().release();
+        } else {
+            admission.lane.limit().release(System.nanoTime() - admission.started, poolWaiters.getAsInt() > 0);
+        }
+    }
+
+    private static Lane lane(String name, AdaptiveLimit limit, MeterRegistry registry) {
+        Gauge.builder(METRIC + ".limit", limit, AdaptiveLimit::getLimit)
+                .description("Adaptive in-flight limit")
+                .tag("lane", name)
+                .register(registry);
+        Gauge.builder(METRIC + ".in-flight", limit, AdaptiveLimit::getInFlight)
+                .description("Admitted requests in progress")
+                .tag("lane", name)
+                .register(registry);
+        return new Lane(name, limit,
+                Counter.builder(METRIC + ".requests").tag("lane", name).tag("outcome", "admitted")
+                        .description("Requests admitted or rejected by admission control").register(registry),
+                Counter.builder(METRIC + ".requests").tag("lane", name).tag("outcome", "rejected")
+                        .description("Requests admitted or rejected by admission control").register(registry));
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.user_information.Config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+// Cache manager, size and expiry come from the spring.cache.* properties (Caffeine)
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String USERS_CACHE = "users";
+
+}
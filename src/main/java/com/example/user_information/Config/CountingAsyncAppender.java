@@ -0,0 +1,40 @@
+package com.example.user_information.Config;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+/*
+ * Logback AsyncAppender that counts the events it drops (logback-spring.xml).
+ *
+ * Request threads only put events on a bounded queue, one worker thread formats and writes them. Once the
+ * queue is 80% full TRACE/DEBUG/INFO events are discarded, and with neverBlock a full queue drops WARN/ERROR
+ * too instead of stalling requests behind the console. The total is published as user.logging.dropped.
+ */
+public class CountingAsyncAppender extends AsyncAppender {
+
+    private static final LongAdder DROPPED = new LongAdder();
+
+    public static long droppedEvents() {
+        return DROPPED.sum();
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        if (isNeverBlock() && getRemainingCapacity() == 0) {
+            DROPPED.increment();
+            return;
+        }
+        super.append(event);
+    }
+
+    @Override
+    protected boolean isDiscardable(ILoggingEvent event) {
+        boolean discard = super.isDiscardable(event);
+        if (discard) {
+            DROPPED.increment();
+        }
+        return discard;
+    }
+}
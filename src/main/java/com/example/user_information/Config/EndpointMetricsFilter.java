@@ -0,0 +1,115 @@
+package com.example.user_information.Config;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/*
+ * Latency histogram per controller mapping (user.api.requests).
+ *
+ * The timers for a handler method are registered on its first request and reused afterwards, so recording
+ * is a map lookup plus an HdrHistogram update: no tags, builders or boxed values per request. p50/p95/p99
+ * are computed in-process over a sliding window (management.metrics.distribution.*) and scraped with the
+ * timers from /actuator/prometheus. Streaming responses are recorded when the async request completes,
+ * which costs one listener object for those requests only. Requests no controller handled are not recorded.
+ */
+public class EndpointMetricsFilter extends OncePerRequestFilter {
+
+    public static final String METRIC = "user.api.requests";
+
+    private static final String[] OUTCOMES = { "SUCCESS", "CLIENT_ERROR", "SERVER_ERROR" };
+
+    private final MeterRegistry registry;
+    private final ConcurrentMap<Method, Timer[]> timers = new ConcurrentHashMap<>();
+
+    public EndpointMetricsFilter(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            chain.doFilter(request, response);
+            failed = false;
+        } finally {
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new AsyncCompletion(start));
+            } else {
+                record(request, failed ? HttpServletResponse.SC_INTERNAL_SERVER_ERROR : response.getStatus(),
+                        System.nanoTime() - start);
+            }
+        }
+    }
+
+    public void record(HttpServletRequest request, int status, long nanos) {
+        if (!(request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE) instanceof HandlerMethod handler)) {
+            return;
+        }
+        Timer[] byOutcome = timers.get(handler.getMethod());
+        if (byOutcome == null) {
+            byOutcome = timers.computeIfAbsent(handler.getMethod(), method -> register(request, handler));
+        }
+        byOutcome[status >= 500 ? 2 : status >= 400 ? 1 : 0].record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    private Timer[] register(HttpServletRequest request, HandlerMethod handler) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String handlerName = handler.getBeanType().getSimpleName() + "." + handler.getMethod().getName();
+        Timer[] byOutcome = new Timer[OUTCOMES.length];
+        for (int i = 0; i < OUTCOMES.length; i++) {
+            byOutcome[i] = Timer.builder(METRIC)
+                    .description("Latency of each controller mapping")
+                    .tag("method", request.getMethod())
+                    .tag("uri", pattern == null ? "UNKNOWN" : pattern.toString())
+                    .tag("handler", handlerName)
+                    .tag("outcome", OUTCOMES[i])
+                    .register(registry);
+        }
+        return byOutcome;
+    }
+
+    private final class AsyncCompletion implements AsyncListener {
+
+        private final long start;
+
+        private AsyncCompletion(long start) {
+            this.start = start;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            HttpServletResponse response = (HttpServletResponse) event.getSuppliedResponse();
+            record((HttpServletRequest) event.getSuppliedRequest(), response.getStatus(), System.nanoTime() - start);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
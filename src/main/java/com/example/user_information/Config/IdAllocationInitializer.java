@@ -0,0 +1,59 @@
+package com.example.user_information.Config;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.example.user_information.Entity.PooledIdGenerator;
+import com.example.user_information.Entity.User;
+import com.example.user_information.Repository.UserRepo;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/*
+ * Moves the "user" segment of the ID allocation table past the highest existing user ID on startup.
+ * Rows created while the table used IDENTITY keep their IDs and new blocks never collide with them.
+ *
+ * Runs once every singleton exists, before the web server is started: no request can insert (and reserve a
+ * block from a row that is not yet past the existing IDs) until the segment has been moved.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IdAllocationInitializer implements SmartInitializingSingleton {
+
+    private final UserRepo userRepo;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        // A replica behind the primary could miss the newest IDs
+        Long maxId = ReplicaRoutingDataSource.onPrimary(userRepo::findMaxId);
+        long next = (maxId == null ? 0 : maxId) + 1;
+
+        String update = "update " + PooledIdGenerator.TABLE + " set " + PooledIdGenerator.VALUE_COLUMN + " = ? where "
+                + PooledIdGenerator.SEGMENT_COLUMN + " = ? and " + PooledIdGenerator.VALUE_COLUMN + " < ?";
+        String exists = "select count(*) from " + PooledIdGenerator.TABLE + " where "
+                + PooledIdGenerator.SEGMENT_COLUMN + " = ?";
+
+        if (jdbcTemplate.update(update, next, User.ID_SEGMENT, next) > 0) {
+            log.info("User ID allocation moved to {}", next);
+            return;
+        }
+        Integer rows = jdbcTemplate.queryForObject(exists, Integer.class, User.ID_SEGMENT);
+        if (rows != null && rows > 0) {
+            return;
+        }
+        try {
+            jdbcTemplate.update("insert into " + PooledIdGenerator.TABLE + " (" + PooledIdGenerator.SEGMENT_COLUMN
+                    + ", " + PooledIdGenerator.VALUE_COLUMN + ") values (?, ?)", User.ID_SEGMENT, next);
+            log.info("User ID allocation initialised at {}", next);
+        } catch (DuplicateKeyException ex) {
+            // Another node created the row first, make sure it is still ahead of the existing IDs
+            jdbcTemplate.update(update, next, User.ID_SEGMENT, next);
+        }
+    }
+}
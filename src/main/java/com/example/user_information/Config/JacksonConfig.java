@@ -0,0 +1,23 @@
+package com.example.user_information.Config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+
+/*
+ * Boot registers every Module bean with the ObjectMapper used by the message converters.
+ *
+ * Blackbird replaces the reflective getter calls of Jackson's bean serializers with accessors generated
+ * through LambdaMetafactory once per property, so writing a page of DTOs no longer goes through
+ * Method.invoke for each field (PageSerializationBenchmark).
+ */
+@Configuration
+public class JacksonConfig {
+
+    @Bean
+    public Module blackbirdModule() {
+        return new BlackbirdModule();
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.user_information.Config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+import com.example.user_information.Service.UserCounter;
+import com.example.user_information.Service.UserSearchIndex;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Request and repository timers; percentiles and the scrape endpoint come from the management.* properties
+@Configuration
+public class MetricsConfig {
+
+    // Outermost filter, so the histogram covers the whole request including the other filters
+    @Bean
+    public FilterRegistrationBean<EndpointMetricsFilter> endpointMetricsFilter(MeterRegistry registry) {
+        FilterRegistrationBean<EndpointMetricsFilter> registration =
+                new FilterRegistrationBean<>(new EndpointMetricsFilter(registry));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return registration;
+    }
+
+    @Bean
+    public RepositoryMetricsListener repositoryMetricsListener(MeterRegistry registry) {
+        return new RepositoryMetricsListener(registry);
+    }
+
+    // Log events shed by the async appender instead of blocking request threads
+    @Bean
+    public FunctionCounter droppedLogEventsCounter(MeterRegistry registry) {
+        return FunctionCounter.builder("user.logging.dropped", CountingAsyncAppender.class,
+                        appender -> CountingAsyncAppender.droppedEvents())
+                .description("Log events dropped because the async logging queue was full")
+                .register(registry);
+    }
+
+    // Estimated heap held by the search index, 0 while it is not built (compare with user.search.max-memory)
+    @Bean
+    public Gauge searchIndexSizeGauge(MeterRegistry registry, UserSearchIndex searchIndex) {
+        return Gauge.builder("user.search.index.size", searchIndex, UserSearchIndex::estimatedBytes)
+                .description("Estimated memory used by the user search index")
+                .baseUnit("bytes")
+                .register(registry);
+    }
+
+    // Maintained total behind approximate GET /user counts, -1 until the first reconcile
+    @Bean
+    public Gauge userCountGauge(MeterRegistry registry, UserCounter userCounter) {
+        return Gauge.builder("user.count", userCounter, UserCounter::get)
+                .description("Maintained number of users")
+                .register(registry);
+    }
+
+    // Attaches the listener to every Spring Data repository before it is created
+    @Bean
+    public static BeanPostProcessor repositoryMetricsPostProcessor(ObjectProvider<RepositoryMetricsListener> listener) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> repositoryFactory) {
+                    repositoryFactory.addRepositoryFactoryCustomizer(
+                            factory -> factory.addInvocationListener(listener.getObject()));
+                }
+                return bean;
+            }
+        };
+    }
+}
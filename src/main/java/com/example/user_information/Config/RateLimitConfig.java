@@ -0,0 +1,89 @@
+package com.example.user_information.Config;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.example.user_information.Common.TokenBucketLimiter;
+import com.example.user_information.Controller.UserController;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/*
+ * Per-client rate limits for the UserController operations (user.rate-limit.* properties).
+ *
+ * Every handler method is an operation with its own bucket: user.rate-limit.capacity and .per-second by
+ * default, overridden per method name with user.rate-limit.operations.<method>.capacity / .per-second.
+ * Callers presenting one of user.rate-limit.api-keys get buckets of their own, everyone else is limited by
+ * remote address.
+ */
+@Configuration
+@ConditionalOnProperty(name = "user.rate-limit.enabled", matchIfMissing = true)
+public class RateLimitConfig implements WebMvcConfigurer {
+
+    private final TokenBucketLimiter limiter;
+    private final RateLimitInterceptor interceptor;
+
+    public RateLimitConfig(Environment environment,
+            ObjectProvider<MeterRegistry> registry,
+            @Value("${user.rate-limit.capacity:200}") long capacity,
+            @Value("${user.rate-limit.per-second:100}") double perSecond,
+            @Value("${user.rate-limit.max-clients:100000}") int maxClients,
+            @Value("${user.rate-limit.api-keys:}") List<String> apiKeys) {
+
+        List<Method> handlers = new ArrayList<>();
+        for (Method method : UserController.class.getDeclaredMethods()) {
+            if (AnnotatedElementUtils.hasAnnotation(method, RequestMapping.class)) {
+                handlers.add(method);
+            }
+        }
+        long[] capacities = new long[handlers.size()];
+        double[] rates = new double[handlers.size()];
+        Map<Method, Integer> operations = new HashMap<>();
+        for (int op = 0; op < handlers.size(); op++) {
+            String prefix = "user.rate-limit.operations." + handlers.get(op).getName();
+            capacities[op] = environment.getProperty(prefix + ".capacity", Long.class, capacity);
+            rates[op] = environment.getProperty(prefix + ".per-second", Double.class, perSecond);
+            operations.put(handlers.get(op), op);
+        }
+        this.limiter = new TokenBucketLimiter(capacities, rates, maxClients);
+
+        MeterRegistry meterRegistry = registry.getIfAvailable(SimpleMeterRegistry::new);
+        Gauge.builder("user.rate-limit.clients", limiter, TokenBucketLimiter::size)
+                .description("Clients with a bucket that is not full")
+                .register(meterRegistry);
+        this.interceptor = new RateLimitInterceptor(limiter, operations, apiKeys,
+                Counter.builder("user.rate-limit.rejected")
+                        .description("Requests rejected with 429")
+                        .register(meterRegistry));
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(interceptor).addPathPatterns("/user", "/user/**").order(Ordered.HIGHEST_PRECEDENCE);
+    }
+
+    // Full buckets carry no state, dropping them keeps the map at the clients that are actually limited
+    @Scheduled(fixedDelayString = "${user.rate-limit.eviction-interval:1m}")
+    public void evictIdleClients() {
+        limiter.evictIdle(System.nanoTime());
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.user_information.Config;
+
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import com.example.user_information.Common.TokenBucketLimiter;
+import com.example.user_information.Exception.TooManyRequestsException;
+
+import io.micrometer.core.instrument.Counter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/*
+ * Per-client rate limit for each UserController operation (handler method).
+ *
+ * The client is the X-API-Key header when it is one of the issued keys (user.rate-limit.api-keys), otherwise
+ * the remote address (behind a proxy, set server.forward-headers-strategy so it is the caller's). Unknown
+ * keys are ignored: a caller rotating made-up keys would otherwise get a fresh bucket per request and fill
+ * max-clients. Every answer carries X-RateLimit-Limit,
+ * -Remaining and -Reset (seconds until the bucket is full); a request without a token gets a
+ * TooManyRequestsException, a 429 ApiResponse with Retry-After. Runs before admission control, so a
+ * throttled client does not take an in-flight slot from the others.
+ */
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    public static final String API_KEY_HEADER = "X-API-Key";
+
+    private final TokenBucketLimiter limiter;
+    private final Map<Method, Integer> operations;
+    private final List<byte[]> apiKeys;
+    private final Counter rejected;
+
+    public RateLimitInterceptor(TokenBucketLimiter limiter, Map<Method, Integer> operations, List<String> apiKeys,
+                                Counter rejected) {
+        this.limiter = limiter;
+        this.operations = operations;
+        this.apiKeys = apiKeys.stream()
+                .filter(key -> !key.isBlank())
+                .map(key -> key.strip().getBytes(StandardCharsets.UTF_8))
+                .toList();
+        this.rejected = rejected;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod method)) {
+            return true;
+        }
+        Integer op = operations.get(method.getMethod());
+        if (op == null) {
+            return true;
+        }
+        String apiKey = request.getHeader(API_KEY_HEADER);
+        String client = isIssued(apiKey) ? "key:" + apiKey : "ip:" + request.getRemoteAddr();
+
+        TokenBucketLimiter.Decision decision = limiter.tryAcquire(client, op, System.nanoTime());
+        response.setHeader("X-RateLimit-Limit", String.valueOf(decision.limit()));
+        response.setHeader("X-RateLimit-Remaining", String.valueOf(decision.remaining()));
+        response.setHeader("X-RateLimit-Reset", String.valueOf(seconds(decision.resetNanos())));
+        if (!decision.allowed()) {
+            rejected.increment();
+            throw new TooManyRequestsException("Rate limit of " + method.getMethod().getName() + " exceeded",
+                    seconds(decision.retryAfterNanos()));
+        }
+        return true;
+    }
+
+    // Constant-time comparison, the time taken does not tell how much of a guessed key is right
+    private boolean isIssued(String apiKey) {
+        if (apiKey == null || apiKey.isBlank()) {
+            return false;
+        }
+        byte[] candidate = apiKey.getBytes(StandardCharsets.UTF_8);
+        boolean issued = false;
+        for (byte[] key : apiKeys) {
+            issued |= MessageDigest.isEqual(key, candidate);
+        }
+        return issued;
+    }
+
+    // Rounded up: a client that waits this long finds the token
+    private static long seconds(long nanos) {
+        return (nanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1);
+    }
+}
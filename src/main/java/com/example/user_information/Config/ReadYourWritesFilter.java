@@ -0,0 +1,76 @@
+package com.example.user_information.Config;
+
+import java.io.IOException;
+import java.util.Set;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/*
+ * Keeps a client on the primary while its own writes may not have reached the replicas.
+ *
+ * Any request other than GET/HEAD/OPTIONS runs on the primary, reads and writes alike, and sets a
+ * primary-until cookie for the maximum replica lag. POST /user/by-ids is a read with its ids in the body and
+ * is treated like a GET. Reads carrying an unexpired cookie, or the
+ * X-Read-Your-Writes: true header for clients without cookies, are routed to the primary as well.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    public static final String COOKIE = "primary-until";
+    public static final String HEADER = "X-Read-Your-Writes";
+
+    // POST endpoints that only read
+    private static final Set<String> READ_ONLY_POSTS = Set.of("/user/by-ids");
+
+    private final long maxLagMillis;
+
+    public ReadYourWritesFilter(long maxLagMillis) {
+        this.maxLagMillis = maxLagMillis;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        boolean write = switch (request.getMethod()) {
+            case "GET", "HEAD", "OPTIONS" -> false;
+            case "POST" -> !READ_ONLY_POSTS.contains(request.getRequestURI().substring(request.getContextPath().length()));
+            default -> true;
+        };
+        if (write) {
+            Cookie cookie = new Cookie(COOKIE, String.valueOf(System.currentTimeMillis() + maxLagMillis));
+            cookie.setPath("/");
+            cookie.setHttpOnly(true);
+            cookie.setMaxAge((int) ((maxLagMillis + 999) / 1000));
+            response.addCookie(cookie);
+        }
+        ReplicaRoutingDataSource.forcePrimary(write || "true".equalsIgnoreCase(request.getHeader(HEADER))
+                || recentlyWrote(request));
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            ReplicaRoutingDataSource.forcePrimary(false);
+        }
+    }
+
+    private static boolean recentlyWrote(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return false;
+        }
+        for (Cookie cookie : cookies) {
+            if (COOKIE.equals(cookie.getName())) {
+                try {
+                    return Long.parseLong(cookie.getValue()) > System.currentTimeMillis();
+                } catch (NumberFormatException ex) {
+                    return false;
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,194 @@
+package com.example.user_information.Config;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.user_information.Entity.ReplicaHeartbeat;
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/*
+ * Sends read-only transactions to a replica in rotation (round robin) and everything else to the primary.
+ *
+ * Lag is measured with a heartbeat row: every check writes the current time to replica_heartbeat on the
+ * primary and reads it back from each replica, so the lag is exact to one check interval and works with any
+ * replication that copies the table. The table is part of the schema (the ReplicaHeartbeat entity), this
+ * class only writes its row. A replica leaves rotation when its lag passes the maximum or the check
+ * query fails, and rejoins on the next check that passes. With no replica in rotation reads use the primary.
+ *
+ * Must be wrapped in a LazyConnectionDataSourceProxy: the transaction manager asks for a connection before
+ * it marks the transaction read-only, the proxy defers the lookup to the first statement.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+
+    private static final String PRIMARY = "primary";
+
+    private static final ThreadLocal<Boolean> FORCE_PRIMARY = new ThreadLocal<>();
+
+    private record Replica(String name, HikariDataSource dataSource, JdbcTemplate jdbcTemplate) { }
+
+    private final JdbcTemplate primary;
+    private final List<Replica> replicas;
+    private final long maxLagMillis;
+
+    private final long[] lagMillis;                 // -> last measured lag, -1 when the check failed
+    private volatile int[] inRotation = new int[0]; // -> indexes into replicas, replaced as a whole
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(HikariDataSource primary, List<HikariDataSource> replicas, long maxLagMillis,
+                                    MeterRegistry registry) {
+        this.primary = new JdbcTemplate(primary);
+        this.replicas = replicas.stream()
+                .map(replica -> new Replica(replica.getPoolName(), replica, checkTemplate(replica)))
+                .toList();
+        this.maxLagMillis = maxLagMillis;
+        this.lagMillis = new long[replicas.size()];
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (Replica replica : this.replicas) {
+            targets.put(replica.name(), replica.dataSource());
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+
+        if (registry != null) {
+            for (int i = 0; i < this.replicas.size(); i++) {
+                int index = i;
+                Gauge.builder("user.datasource.replica.lag", this, routing -> routing.lagMillis[index] / 1000.0)
+                        .description("Replica lag at the last check, -1 when the check failed")
+                        .tag("replica", this.replicas.get(i).name())
+                        .baseUnit("seconds")
+                        .register(registry);
+            }
+        }
+    }
+
+    // Routes every statement of the current thread to the primary until cleared (read-your-writes requests)
+    public static void forcePrimary(boolean force) {
+        if (force) {
+            FORCE_PRIMARY.set(Boolean.TRUE);
+        } else {
+            FORCE_PRIMARY.remove();
+        }
+    }
+
+    // Runs work on the primary whatever the transaction or request: reads whose result outlives the request
+    // (cached entries, id allocation, counters) must not see a lagging replica
+    public static <T> T onPrimary(Supplier<T> work) {
+        Boolean previous = FORCE_PRIMARY.get();
+        FORCE_PRIMARY.set(Boolean.TRUE);
+        try {
+            return work.get();
+        } finally {
+            if (previous == null) {
+                FORCE_PRIMARY.remove();
+            }
+        }
+    }
+
+    public static void onPrimary(Runnable work) {
+        onPrimary(() -> {
+            work.run();
+            return null;
+        });
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (FORCE_PRIMARY.get() != null || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return PRIMARY;
+        }
+        int[] rotation = inRotation;
+        if (rotation.length == 0) {
+            return PRIMARY;
+        }
+        return replicas.get(rotation[Math.floorMod(next.getAndIncrement(), rotation.length)]).name();
+    }
+
+    @Scheduled(fixedDelayString = "${user.datasource.replica-check-interval:2s}")
+    public void checkReplicas() {
+        long beat = System.currentTimeMillis();
+        try {
+            writeHeartbeat(beat);
+        } catch (RuntimeException ex) {
+            // Without a fresh beat the lag cannot be told apart from a stale one, keep the current rotation
+            log.warn("Replica heartbeat could not be written to the primary: {}", ex.getMessage());
+            return;
+        }
+        int[] rotation = new int[replicas.size()];
+        int size = 0;
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get(i);
+            long lag;
+            try {
+                Long seen = replica.jdbcTemplate().queryForObject(
+                        "select beat from " + ReplicaHeartbeat.TABLE + " where id = " + ReplicaHeartbeat.ID, Long.class);
+                lag = seen == null ? Long.MAX_VALUE : Math.max(0, beat - seen);
+            } catch (RuntimeException ex) {
+                log.atDebug().setMessage("Replica check failed").addKeyValue("replica", replica.name())
+                        .addKeyValue("error", ex.getMessage()).log();
+                lag = -1;
+            }
+            boolean healthy = lag >= 0 && lag <= maxLagMillis;
+            if (healthy != isInRotation(i)) {
+                log.atWarn().setMessage(healthy ? "Replica in rotation" : "Replica out of rotation")
+                        .addKeyValue("replica", replica.name())
+                        .addKeyValue("lagMillis", lag)
+                        .log();
+            }
+            lagMillis[i] = lag;
+            if (healthy) {
+                rotation[size++] = i;
+            }
+        }
+        inRotation = Arrays.copyOf(rotation, size);
+    }
+
+    public int replicasInRotation() {
+        return inRotation.length;
+    }
+
+    @Override
+    public void destroy() {
+        replicas.forEach(replica -> replica.dataSource().close());
+    }
+
+    private boolean isInRotation(int index) {
+        for (int i : inRotation) {
+            if (i == index) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Replication copies the row to the replicas
+    private void writeHeartbeat(long beat) {
+        if (primary.update("update " + ReplicaHeartbeat.TABLE + " set beat = ? where id = ?", beat,
+                ReplicaHeartbeat.ID) == 0) {
+            primary.update("insert into " + ReplicaHeartbeat.TABLE + " (id, beat) values (?, ?)",
+                    ReplicaHeartbeat.ID, beat);
+        }
+    }
+
+    private static JdbcTemplate checkTemplate(HikariDataSource replica) {
+        JdbcTemplate template = new JdbcTemplate(replica);
+        template.setQueryTimeout(2);
+        return template;
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.user_information.Config;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.data.repository.core.support.RepositoryMethodInvocationListener;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/*
+ * Times every repository method separately (user.repository.invocations, tagged with repository, method
+ * and state). Like EndpointMetricsFilter the timers are created on the first call of a method and reused,
+ * overloads such as findAll(Pageable) and findAll(Sort) share one timer. The duration is the repository
+ * call itself; for Stream results the consumption is not included.
+ */
+public class RepositoryMetricsListener implements RepositoryMethodInvocationListener {
+
+    public static final String METRIC = "user.repository.invocations";
+
+    private static final RepositoryMethodInvocationResult.State[] STATES = RepositoryMethodInvocationResult.State.values();
+
+    private final MeterRegistry registry;
+    private final ConcurrentMap<Method, Timer[]> timers = new ConcurrentHashMap<>();
+
+    public RepositoryMetricsListener(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public void afterInvocation(RepositoryMethodInvocation invocation) {
+        Method method = invocation.getMethod();
+        Timer[] byState = timers.get(method);
+        if (byState == null) {
+            byState = timers.computeIfAbsent(method, m -> register(invocation.getRepositoryInterface(), m));
+        }
+        RepositoryMethodInvocationResult result = invocation.getResult();
+        RepositoryMethodInvocationResult.State state = result == null ? RepositoryMethodInvocationResult.State.SUCCESS
+                : result.getState();
+        byState[state.ordinal()].record(invocation.getDuration(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS);
+    }
+
+    private Timer[] register(Class<?> repository, Method method) {
+        Timer[] byState = new Timer[STATES.length];
+        for (int i = 0; i < STATES.length; i++) {
+            byState[i] = Timer.builder(METRIC)
+                    .description("Duration of each repository method")
+                    .tag("repository", repository.getSimpleName())
+                    .tag("method", method.getName())
+                    .tag("state", STATES[i].name())
+                    .register(registry);
+        }
+        return byState;
+    }
+}
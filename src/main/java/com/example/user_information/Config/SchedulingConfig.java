@@ -0,0 +1,10 @@
+package com.example.user_information.Config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// Periodic maintenance such as the UserCounter reconcile
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,103 @@
+package com.example.user_information.Controller;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.user_information.ApiResponse;
+import com.example.user_information.Common.Status;
+import com.example.user_information.DTO.CacheStatsDTO;
+import com.example.user_information.DTO.PasswordHashingStatsDTO;
+import com.example.user_information.DTO.SearchIndexStatsDTO;
+import com.example.user_information.DTO.UniquenessIndexStatsDTO;
+import com.example.user_information.Service.PasswordHasher;
+import com.example.user_information.Service.UserSearchIndex;
+import com.example.user_information.Service.UserUniquenessIndex;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+
+// Operational endpoints: cache, index and hashing pool statistics, maintenance triggers, runtime tuning
+@RestController
+@RequestMapping("/admin")
+@RequiredArgsConstructor
+public class AdminController {
+
+    private final CacheManager cacheManager;
+
+    private final UserUniquenessIndex uniquenessIndex;
+
+    private final PasswordHasher passwordHasher;
+
+    private final UserSearchIndex searchIndex;
+
+    @GetMapping("/cache/stats")
+    public ResponseEntity<ApiResponse<List<CacheStatsDTO>>> getCacheStats(HttpServletRequest request) {
+
+        List<CacheStatsDTO> stats = cacheManager.getCacheNames().stream()
+                .map(cacheManager::getCache)
+                .filter(CaffeineCache.class::isInstance)
+                .map(CaffeineCache.class::cast)
+                .map(cache -> {
+                    CacheStats s = cache.getNativeCache().stats();
+                    return new CacheStatsDTO(cache.getName(), cache.getNativeCache().estimatedSize(),
+                            s.hitCount(), s.missCount(), s.hitRate(), s.evictionCount());
+                })
+                .toList();
+
+        return ResponseEntity.ok(new ApiResponse<>(200, Status.SUCCESS, "Cache statistics", stats,
+                request.getRequestURI(), LocalDateTime.now()));
+    }
+
+    @GetMapping("/uniqueness-index")
+    public ResponseEntity<ApiResponse<UniquenessIndexStatsDTO>> getUniquenessIndexStats(HttpServletRequest request) {
+        return ResponseEntity.ok(new ApiResponse<>(200, Status.SUCCESS, "Uniqueness index statistics",
+                uniquenessIndex.stats(), request.getRequestURI(), LocalDateTime.now()));
+    }
+
+    @PostMapping("/uniqueness-index/rebuild")
+    public ResponseEntity<ApiResponse<UniquenessIndexStatsDTO>> rebuildUniquenessIndex(HttpServletRequest request) {
+        uniquenessIndex.rebuild();
+        return ResponseEntity.ok(new ApiResponse<>(200, Status.SUCCESS, "Uniqueness index rebuilt",
+                uniquenessIndex.stats(), request.getRequestURI(), LocalDateTime.now()));
+    }
+
+    @GetMapping("/search-index")
+    public ResponseEntity<ApiResponse<SearchIndexStatsDTO>> getSearchIndexStats(HttpServletRequest request) {
+        return ResponseEntity.ok(new ApiResponse<>(200, Status.SUCCESS, "Search index statistics",
+                searchIndex.stats(), request.getRequestURI(), LocalDateTime.now()));
+    }
+
+    // Also the way back after the index was dropped for passing its memory cap
+    @PostMapping("/search-index/rebuild")
+    public ResponseEntity<ApiResponse<SearchIndexStatsDTO>> rebuildSearchIndex(HttpServletRequest request) {
+        searchIndex.rebuild();
+        return ResponseEntity.ok(new ApiResponse<>(200, Status.SUCCESS, "Search index rebuilt",
+                searchIndex.stats(), request.getRequestURI(), LocalDateTime.now()));
+    }
+
+    @GetMapping("/password-hashing")
+    public ResponseEntity<ApiResponse<PasswordHashingStatsDTO>> getPasswordHashingStats(HttpServletRequest request) {
+        return ResponseEntity.ok(new ApiResponse<>(200, Status.SUCCESS, "Password hashing statistics",
+                passwordHasher.stats(), request.getRequestURI(), LocalDateTime.now()));
+    }
+
+    // New hashes use the new strength at once; stored hashes keep theirs until the password is next set
+    @PutMapping("/password-hashing")
+    public ResponseEntity<ApiResponse<PasswordHashingStatsDTO>> setPasswordHashingStrength(@RequestParam int strength,
+                                                                                          HttpServletRequest request) {
+        passwordHasher.setStrength(strength);
+        return ResponseEntity.ok(new ApiResponse<>(200, Status.SUCCESS, "Password hashing strength updated",
+                passwordHasher.stats(), request.getRequestURI(), LocalDateTime.now()));
+    }
+}
@@ -7,17 +7,39 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.example.user_information.ApiResponse;
+import com.example.user_information.Common.ExportFormat;
+import com.example.user_information.Common.Status;
+import com.example.user_information.Common.UserETags;
+import com.example.user_information.DTO.CursorPageDTO;
+import com.example.user_information.DTO.ImportJobDTO;
+import com.example.user_information.DTO.PageDTO;
+import com.example.user_information.DTO.UserBatchResultDTO;
+import com.example.user_information.DTO.UserDeleteResultDTO;
+import com.example.user_information.DTO.UserLookupDTO;
+import com.example.user_information.DTO.UserPatchDTO;
 import com.example.user_information.DTO.UserRegisterDTO;
 import com.example.user_information.DTO.UserResponseDTO;
+import com.example.user_information.DTO.UserSearchHitDTO;
+import com.example.user_information.Service.UserImportService;
 import com.example.user_information.Service.UserService;
 
 import jakarta.servlet.http.HttpServletRequest;
@@ -30,6 +52,8 @@ public class UserController {
 
 	private final UserService userService;
 
+	private final UserImportService userImportService;
+
 	private static final Logger logger = LoggerFactory.getLogger(UserController.class);
 
     @PostMapping
@@ -42,16 +66,59 @@ public class UserController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    // Bulk registration: every entry is validated on its own and reported back by its index in the batch
+    @PostMapping("/batch")
+    public ResponseEntity<ApiResponse<List<UserBatchResultDTO>>> addUsers(@RequestBody List<UserRegisterDTO> dtos,
+            HttpServletRequest request) {
+
+        ApiResponse<List<UserBatchResultDTO>> response = userService.addUsers(dtos);
+        response.setPath(request.getRequestURI());
+
+        return ResponseEntity.status(response.getCode()).body(response);
+    }
+
+
+    // Bulk delete by id; the ids go in the body, which DELETE requests should not carry
+    @PostMapping("/batch/delete")
+    public ResponseEntity<ApiResponse<UserDeleteResultDTO>> deleteUsers(@RequestBody List<Long> ids,
+            HttpServletRequest request) {
+
+        UserDeleteResultDTO result = userService.deleteUsersByIds(ids);
+
+        return ResponseEntity.ok(new ApiResponse<>(200, Status.SUCCESS,
+                result.getDeleted() + " users deleted, " + result.getMissing() + " missing", result,
+                request.getRequestURI(), LocalDateTime.now()));
+    }
+
+    // Bulk delete by filter: both bounds are required so a request cannot empty the table by accident
+    @DeleteMapping("/batch")
+    public ResponseEntity<ApiResponse<UserDeleteResultDTO>> deleteUsersByAge(@RequestParam int minAge,
+            @RequestParam int maxAge, HttpServletRequest request) {
+
+        UserDeleteResultDTO result = userService.deleteUsersByAge(minAge, maxAge);
+
+        return ResponseEntity.ok(new ApiResponse<>(200, Status.SUCCESS, result.getDeleted() + " users deleted",
+                result, request.getRequestURI(), LocalDateTime.now()));
+    }
 
     @GetMapping
-	public ResponseEntity<Page<UserResponseDTO>> getUsers(
+	public ResponseEntity<ApiResponse<PageDTO<UserResponseDTO>>> getUsers(
 			@RequestParam(defaultValue = "0") int page,
 			@RequestParam(defaultValue = "10") int size,
 			@RequestParam(defaultValue = "id") String sortBy,
-			@RequestParam(defaultValue = "asc") String direction
+			@RequestParam(defaultValue = "asc") String direction,
+			@RequestParam(defaultValue = "exact") String count,
+			ServletWebRequest request
 			) {		
 		
-		logger.info("Fetching users: page = {}, size = {}, sortBy = {}, direction = {}", page, size, sortBy, direction);
+		// exact (default): a COUNT(*) with the page, approximate (opt-in): totalElements from the maintained
+		// user count, reconciled every few minutes
+		if (!count.equals("approximate") && !count.equals("exact")) {
+			throw new IllegalArgumentException("count must be exact or approximate");
+		}
+		
+		// Per-request detail at DEBUG, UserImpl writes the rate-limited INFO line
+		logger.debug("Fetching users: page = {}, size = {}, sortBy = {}, direction = {}", page, size, sortBy, direction);
 
 		Sort sort = direction.equalsIgnoreCase("desc") ?
 				Sort.by(sortBy).descending():
@@ -59,30 +126,143 @@ public class UserController {
 		
 		Pageable pageable = PageRequest.of(page, size, sort);
 		
-		Page<UserResponseDTO> dto = userService.getUsers(pageable);
+		Page<UserResponseDTO> dto = userService.getUsers(pageable, count.equals("exact"));
 		
-		logger.info("Successfully fetched {} users", dto.getTotalElements());
-		
-		return ResponseEntity.ok(dto);
+		logger.debug("Successfully fetched {} users", dto.getTotalElements());
+
+		// Unchanged page: 304 without serializing it
+		String etag = UserETags.of(dto);
+		if (etag != null && request.checkNotModified(etag)) {
+			return null;
+		}
+		ApiResponse<PageDTO<UserResponseDTO>> response = new ApiResponse<>(200, Status.SUCCESS,
+				"Users fetched successfully", PageDTO.of(dto), request.getRequest().getRequestURI(), LocalDateTime.now());
+		return ResponseEntity.ok().cacheControl(CacheControl.noCache()).eTag(etag).body(response);
 	}
 
+    // Keyset mode: selected whenever ?after= is present (empty for the first slice), no OFFSET and no COUNT(*)
+    @GetMapping(params = "after")
+    public ResponseEntity<ApiResponse<CursorPageDTO<UserResponseDTO>>> getUsersAfter(
+            @RequestParam String after,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "id") String sortBy,
+            @RequestParam(defaultValue = "asc") String direction,
+            HttpServletRequest request
+            ) {
+
+        CursorPageDTO<UserResponseDTO> users = userService.getUsersAfter(after, size, sortBy, direction);
+
+        return ResponseEntity.ok(new ApiResponse<>(200, Status.SUCCESS, "Users fetched successfully", users,
+                request.getRequestURI(), LocalDateTime.now()));
+    }
+
+    // Accepts a CSV or NDJSON file and imports it in the background; poll the returned job for progress
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ApiResponse<ImportJobDTO>> importUsers(@RequestParam("file") MultipartFile file,
+            HttpServletRequest request) {
+
+        ImportJobDTO job = userImportService.startImport(file);
+
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(new ApiResponse<>(202, Status.SUCCESS,
+                "User import started", job, request.getRequestURI(), LocalDateTime.now()));
+    }
+
+    @GetMapping("/import/{jobId}")
+    public ResponseEntity<ApiResponse<ImportJobDTO>> getImportJob(@PathVariable String jobId,
+            HttpServletRequest request) {
+
+        ImportJobDTO job = userImportService.getImportJob(jobId);
+
+        return ResponseEntity.ok(new ApiResponse<>(200, Status.SUCCESS, "User import " + job.getStatus(), job,
+                request.getRequestURI(), LocalDateTime.now()));
+    }
+
+    // Streams every user as NDJSON or CSV (Accept header or ?format=) without paging or buffering
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportUsers(
+            @RequestParam(required = false) String format,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+
+        ExportFormat exportFormat = ExportFormat.resolve(format, accept);
+        StreamingResponseBody body = out -> userService.exportUsers(out, exportFormat);
+
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=users." + exportFormat.getExtension())
+                .body(body);
+    }
+
+    // Partial name or email lookup for support staff, answered from the in-memory trigram index
+    @GetMapping("/search")
+    public ResponseEntity<ApiResponse<List<UserSearchHitDTO>>> searchUsers(@RequestParam String q,
+            @RequestParam(defaultValue = "20") int limit, HttpServletRequest request) {
+
+        List<UserSearchHitDTO> hits = userService.searchUsers(q, limit);
+
+        return ResponseEntity.ok(new ApiResponse<>(200, Status.SUCCESS, hits.size() + " users found", hits,
+                request.getRequestURI(), LocalDateTime.now()));
+    }
+
+    // Multi-get: one request and one IN query per chunk instead of a GET /user/{id} per id. POST takes the
+    // ids as a JSON array for sets too long for a query string
+    @GetMapping("/by-ids")
+    public ResponseEntity<ApiResponse<UserLookupDTO>> getUsersByIds(@RequestParam List<Long> ids,
+            HttpServletRequest request) {
+
+        return ResponseEntity.ok(lookupResponse(userService.getUsersByIds(ids), request));
+    }
+
+    @PostMapping("/by-ids")
+    public ResponseEntity<ApiResponse<UserLookupDTO>> postUsersByIds(@RequestBody List<Long> ids,
+            HttpServletRequest request) {
+
+        return ResponseEntity.ok(lookupResponse(userService.getUsersByIds(ids), request));
+    }
+
+    private static ApiResponse<UserLookupDTO> lookupResponse(UserLookupDTO lookup, HttpServletRequest request) {
+        return new ApiResponse<>(200, Status.SUCCESS,
+                lookup.getUsers().size() + " users found, " + lookup.getMissing().size() + " missing", lookup,
+                request.getRequestURI(), LocalDateTime.now());
+    }
+
+    // Conditional GET: the cached DTO carries its version, so If-None-Match is answered with 304 without a
+    // database read on a cache hit and without serializing the body
     @GetMapping("/{id}")
-    public ResponseEntity<UserResponseDTO> getUserById(@PathVariable Long id) {
+    public ResponseEntity<UserResponseDTO> getUserById(@PathVariable Long id, WebRequest request) {
         UserResponseDTO dto = userService.getUserById(id);
-        return ResponseEntity.ok(dto);
+        String etag = UserETags.of(dto);
+        if (etag != null && request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).eTag(etag).body(dto);
     }
 
 
+    // If-Match makes the update conditional on the version the client has seen: 412 when it changed since
     @PutMapping("/{id}")
     public ResponseEntity<UserResponseDTO> updateUser(@PathVariable Long id,
-                                                      @Valid @RequestBody UserRegisterDTO dto) {
+                                                      @Valid @RequestBody UserRegisterDTO dto,
+                                                      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+
+        UserResponseDTO updated = userService.updateUser(id, dto, UserETags.expectedVersion(ifMatch, id));
+        return ResponseEntity.ok().eTag(UserETags.of(updated)).body(updated);
+    }
+
+    // Partial update: only the fields present in the body are written. If-Match works as for PUT, a write that
+    // keeps losing to concurrent writers ends in 409
+    @PatchMapping("/{id}")
+    public ResponseEntity<UserResponseDTO> patchUser(@PathVariable Long id,
+                                                     @Valid @RequestBody UserPatchDTO dto,
+                                                     @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
 
-        return ResponseEntity.ok(userService.updateUser(id, dto));
+        UserResponseDTO patched = userService.patchUser(id, dto, UserETags.expectedVersion(ifMatch, id));
+        return ResponseEntity.ok().eTag(UserETags.of(patched)).body(patched);
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteUser(@PathVariable Long id) {
-        userService.deleteUserById(id);
+    public ResponseEntity<Void> deleteUser(@PathVariable Long id,
+                                           @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        userService.deleteUserById(id, UserETags.expectedVersion(ifMatch, id));
         return ResponseEntity.noContent().build();
     }
 
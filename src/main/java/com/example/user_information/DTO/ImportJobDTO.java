@@ -0,0 +1,26 @@
+package com.example.user_information.DTO;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.example.user_information.Common.ImportStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+
+public class ImportJobDTO {
+    private String jobId;
+    private ImportStatus status;
+    private long processed;
+    private long imported;
+    private long rejected;
+    private List<RejectedRowDTO> rejectedRows;  // -> capped, see user.import.max-reported-rejections
+    private String error;                       // -> set when the job failed as a whole
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+}
@@ -0,0 +1,27 @@
+package com.example.user_information.DTO;
+
+import java.util.List;
+
+import org.springframework.data.domain.Page;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+
+public class PageDTO<T> {
+    private List<T> content;
+    private int page;           // -> zero-based, as in ?page=
+    private int size;
+    private long totalElements;
+    private int totalPages;
+
+    // Only what a client pages with: PageImpl would also write its pageable, sort and derived flags
+    public static <T> PageDTO<T> of(Page<T> page) {
+        return new PageDTO<>(page.getContent(), page.getNumber(), page.getSize(), page.getTotalElements(),
+                page.getTotalPages());
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.user_information.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+
+public class PasswordHashingStatsDTO {
+    private int strength;           // -> BCrypt cost used for new hashes (2^strength rounds)
+    private int threads;
+    private int capacity;           // -> hashes admitted at once (running + queued)
+    private int bulkCapacity;       // -> share of capacity batch registrations and imports may hold
+    private int active;
+    private int queued;
+    private long completed;
+    private long rejected;          // -> requests answered with 503 because the pool was saturated
+    private long averageHashMillis;
+}
@@ -0,0 +1,16 @@
+package com.example.user_information.DTO;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+
+public class RejectedRowDTO {
+    private long line;      // -> 1-based line number in the uploaded file
+    private List<String> errors;
+}
@@ -0,0 +1,20 @@
+package com.example.user_information.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+
+public class SearchIndexStatsDTO {
+    private boolean ready;
+    private boolean overCapacity;   // -> dropped for passing user.search.max-memory, searches use the database
+    private long users;
+    private long trigrams;
+    private long estimatedBytes;
+    private long maxBytes;
+    private long searches;
+    private long fallbacks;         // -> searches answered by the database because the index was not available
+}
@@ -0,0 +1,20 @@
+package com.example.user_information.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+
+public class UniquenessIndexStatsDTO {
+    private boolean ready;
+    private long entries;
+    private long bits;
+    private long lookups;
+    private long definitelyAbsent;
+    private long falsePositives;
+    private double observedFalsePositiveRate;   // -> false positives / (false positives + definitely absent)
+    private double expectedFalsePositiveRate;
+}
@@ -0,0 +1,20 @@
+package com.example.user_information.DTO;
+
+import java.util.List;
+
+import com.example.user_information.Common.Status;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+
+public class UserBatchResultDTO {
+    private int index;              // -> position of the entry in the submitted batch
+    private Status status;
+    private UserResponseDTO user;   // -> set only when the entry was registered
+    private List<String> errors;    // -> set only when the entry was rejected
+}
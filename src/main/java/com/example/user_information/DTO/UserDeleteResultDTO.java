@@ -0,0 +1,14 @@
+package com.example.user_information.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+
+public class UserDeleteResultDTO {
+    private long deleted;
+    private long missing;   // -> requested ids without a user (always 0 when deleting by filter)
+}
@@ -0,0 +1,17 @@
+package com.example.user_information.DTO;
+
+import java.util.List;
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+
+public class UserLookupDTO {
+    private Map<Long, UserResponseDTO> users;   // -> keyed by id, in the order the ids were requested
+    private List<Long> missing;                 // -> requested ids without a user, in request order
+}
@@ -0,0 +1,41 @@
+package com.example.user_information.DTO;
+
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+// PATCH body: every field is optional, null (or absent) leaves the column untouched. Present values are
+// validated like registration
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+
+public class UserPatchDTO {
+
+    @Pattern(regexp = ".*\\S.*", message = "Name must not be blank")
+    private String name;
+
+    @Email(message = "Invalid email format")
+    @Pattern(regexp = ".*\\S.*", message = "Email must not be blank")
+    private String email;
+
+    @Min(value = 1, message = "Age must be a positive number")
+    private Integer age;
+
+    @ToString.Exclude
+    @Size(min = 8, message = "Password must be at least 8 characters long")
+    @Pattern(
+        regexp = "^(?=.*[A-Z])(?=.*[a-z])(?=.*\\d)(?=.*[@$!%*?&])[A-Za-z\\d@$!%*?&]+$",
+        message = "Password must contain upper, lower, number, and special character"
+    )
+    private String password;
+
+    @Digits(integer = 10, fraction = 0, message = "Phone number must be exactly 10 digits")
+    private String phoneNo;
+}
@@ -10,6 +10,7 @@ import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 @Data
 @NoArgsConstructor
@@ -28,6 +29,8 @@ public class UserRegisterDTO {
     @Min(value = 1, message = "Age must be a positive number")
     private Integer age;
 
+    // Kept out of toString(): DTOs end up in log and exception messages
+    @ToString.Exclude
     @NotBlank(message = "Password is required")
     @Size(min = 8, message = "Password must be at least 8 characters long")
     @Pattern(
@@ -1,5 +1,7 @@
 package com.example.user_information.DTO;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -12,4 +14,16 @@ public class UserResponseDTO {
     private String name;
     private String email;
     private String phoneNo;
+
+    // Not serialized: the users cache keeps them with the body so ETags need no database read
+    @JsonIgnore
+    private Long id;
+    @JsonIgnore
+    private Long version;
+
+    public UserResponseDTO(String name, String email, String phoneNo) {
+        this.name = name;
+        this.email = email;
+        this.phoneNo = phoneNo;
+    }
 }
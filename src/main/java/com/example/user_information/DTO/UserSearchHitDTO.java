@@ -0,0 +1,15 @@
+package com.example.user_information.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+
+public class UserSearchHitDTO {
+    private Long id;
+    private String name;
+    private String email;
+}
@@ -0,0 +1,25 @@
+package com.example.user_information.Entity;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+/*
+ * Marks an id as allocated by PooledIdGenerator: blocks of ids reserved per segment in the allocation table.
+ * The block size is the default for the mapping, user.id.block-size overrides it.
+ */
+@IdGeneratorType(PooledIdGenerator.class)
+@Retention(RUNTIME)
+@Target({ FIELD, METHOD })
+public @interface PooledId {
+
+    // Row of the allocation table this id is taken from
+    String segment();
+
+    int blockSize() default 50;
+}
@@ -0,0 +1,57 @@
+package com.example.user_information.Entity;
+
+import java.lang.reflect.Member;
+import java.util.Properties;
+
+import org.hibernate.MappingException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.config.spi.StandardConverters;
+import org.hibernate.id.OptimizableGenerator;
+import org.hibernate.id.enhanced.TableGenerator;
+import org.hibernate.id.factory.spi.CustomIdGeneratorCreationContext;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+/*
+ * Table-backed ID allocator that hands out blocks of IDs to each node.
+ *
+ * A single row per segment in the allocation table holds the first ID of the next free block. With the
+ * "pooled-lo" optimizer a node reserves a whole block with one UPDATE and then assigns IDs from memory,
+ * which is what lets Hibernate batch the INSERTs (IDENTITY forces one INSERT per round trip).
+ * The table approach works the same way on MySQL (no sequences) and H2.
+ *
+ * Mapped with @PooledId. The block size defaults to the one on the annotation and can be overridden with
+ * the "user.id.block-size" setting (spring.jpa.properties.user.id.block-size).
+ */
+public class PooledIdGenerator extends TableGenerator {
+
+    public static final String TABLE = "id_allocation";
+    public static final String SEGMENT_COLUMN = "segment_name";
+    public static final String VALUE_COLUMN = "next_val";
+    public static final String BLOCK_SIZE_SETTING = "user.id.block-size";
+
+    private final String segment;
+    private final int defaultBlockSize;
+
+    // Called by Hibernate for every id annotated with @PooledId
+    public PooledIdGenerator(PooledId config, Member member, CustomIdGeneratorCreationContext context) {
+        this.segment = config.segment();
+        this.defaultBlockSize = config.blockSize();
+    }
+
+    @Override
+    public void configure(Type type, Properties params, ServiceRegistry serviceRegistry) throws MappingException {
+        Integer blockSize = serviceRegistry.getService(ConfigurationService.class)
+                .getSetting(BLOCK_SIZE_SETTING, StandardConverters.INTEGER, defaultBlockSize);
+        if (blockSize < 1) {
+            throw new MappingException(BLOCK_SIZE_SETTING + " must be positive but was " + blockSize);
+        }
+        params.setProperty(OptimizableGenerator.INCREMENT_PARAM, blockSize.toString());
+        params.setProperty(SEGMENT_VALUE_PARAM, segment);
+        params.putIfAbsent(TABLE_PARAM, TABLE);
+        params.putIfAbsent(SEGMENT_COLUMN_PARAM, SEGMENT_COLUMN);
+        params.putIfAbsent(VALUE_COLUMN_PARAM, VALUE_COLUMN);
+        params.putIfAbsent(OptimizableGenerator.OPT_PARAM, "pooled-lo");
+        super.configure(type, params, serviceRegistry);
+    }
+}
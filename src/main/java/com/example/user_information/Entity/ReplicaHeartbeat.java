@@ -0,0 +1,28 @@
+package com.example.user_information.Entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Single-row table ReplicaRoutingDataSource measures replica lag with: the primary's row holds the time of the
+// last check, a replica's copy the last one it has applied. Mapped so the schema (ddl-auto or a migration)
+// owns the table, the application never issues DDL for it
+@Entity
+@Data
+@NoArgsConstructor
+@Table(name = ReplicaHeartbeat.TABLE)
+public class ReplicaHeartbeat {
+
+	public static final String TABLE = "replica_heartbeat";
+	public static final int ID = 1;
+
+	@Id
+	private int id;
+
+	// Epoch millis of the check that wrote it
+	@Column(nullable = false)
+	private long beat;
+}
@@ -1,26 +1,61 @@
 package com.example.user_information.Entity;
 
 import jakarta.persistence.*;
-import lombok.AllArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
+// DynamicUpdate: UPDATE statements only set the columns that changed (PATCH), the
+// version check in the WHERE clause guards against concurrent writers
 @Entity
+@DynamicUpdate
 @Data
 @NoArgsConstructor
-@AllArgsConstructor
-@Table(name = "`user`")
+@Table(name = "`user`", uniqueConstraints = {
+		@UniqueConstraint(name = User.EMAIL_UNIQUE, columnNames = "email"),
+		@UniqueConstraint(name = User.PHONE_NO_UNIQUE, columnNames = "phone_no")
+}, indexes = {
+		// (sortKey, id) indexes back the keyset pagination seek predicates, email is covered by its unique key
+		@Index(name = "idx_user_name_id", columnList = "name, id"),
+		@Index(name = "idx_user_age_id", columnList = "age, id")
+})
 public class User {
 
+	public static final String EMAIL_UNIQUE = "uk_user_email";
+	public static final String PHONE_NO_UNIQUE = "uk_user_phone_no";
+	// Row of the id allocation table user ids are reserved from
+	public static final String ID_SEGMENT = "user";
+
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@PooledId(segment = ID_SEGMENT)
 	private Long id;
 	
 	private String name;
 	private int age;
 	private String email;
 	private String phoneNo;
+	// BCrypt hash; kept out of toString() like the DTOs. A password change bumps the version like any other
+	// field, so a client holding the old ETag cannot overwrite it unseen
+	@ToString.Exclude
 	private String password;
+
+	// Row version: bumped by Hibernate on every change, the ETag of GET /user/{id} and pages is derived from
+	// it. The default lets ddl-auto add the column to existing rows
+	@Version
+	@ColumnDefault("0")
+	@Column(nullable = false)
+	private Long version;
+
+	public User(Long id, String name, int age, String email, String phoneNo, String password) {
+		this.id = id;
+		this.name = name;
+		this.age = age;
+		this.email = email;
+		this.phoneNo = phoneNo;
+		this.password = password;
+	}
 	
 	
 }
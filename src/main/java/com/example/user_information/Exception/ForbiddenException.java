@@ -0,0 +1,9 @@
+package com.example.user_information.Exception;
+
+// Raised when a caller lacks the credentials an endpoint requires; mapped to 403
+public class ForbiddenException extends RuntimeException {
+
+    public ForbiddenException(String message) {
+        super(message);
+    }
+}
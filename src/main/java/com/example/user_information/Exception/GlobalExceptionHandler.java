@@ -1,13 +1,20 @@
 package com.example.user_information.Exception;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 
 import java.util.List;
 import java.util.stream.Collectors;
 
 import com.example.user_information.ApiResponse;
+import com.example.user_information.Common.DuplicateKeys;
+import com.example.user_information.Common.LogRateLimiter;
 import com.example.user_information.Common.Status;
 
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -23,6 +30,20 @@ public class GlobalExceptionHandler {
 	
 	
 	
+	// 4xx and 503 responses are caused by the caller or by load and can arrive at request rate:
+	// at most one line per second, with the number of skipped ones
+	private static final LogRateLimiter CLIENT_ERROR_LOG = new LogRateLimiter(Duration.ofSeconds(1));
+
+	private static void logClientError(String message, Object detail, HttpServletRequest request) {
+		if (CLIENT_ERROR_LOG.tryAcquire()) {
+			log.atWarn().setMessage(message)
+					.addKeyValue("path", request.getRequestURI())
+					.addKeyValue("detail", detail)
+					.addKeyValue("suppressed", CLIENT_ERROR_LOG.drainSuppressed())
+					.log();
+		}
+	}
+
 	// A helper method to construct the ApiResponse in a consistent format
     private ApiResponse<List<String>> buildApiResponse(
             int code,
@@ -59,7 +80,8 @@ public class GlobalExceptionHandler {
                 .map(err -> err.getDefaultMessage())  // Get the default message for each error
                 .collect(Collectors.toList());  // Collect all error messages into a list
 
-        log.warn("Method Argument Not Valid: {}" , ex.getMessage());
+        // Not ex.getMessage(): it echoes the rejected values, passwords included
+        logClientError("Method Argument Not Valid", errors, request);
         
         // Return the response with the validation errors in a structured format
         return new ResponseEntity<>(
@@ -84,7 +106,7 @@ public class GlobalExceptionHandler {
             IllegalArgumentException ex,
             HttpServletRequest request) {
     	
-        log.warn("Business validation failed: {}" , ex.getMessage());
+        logClientError("Business validation failed", ex.getMessage(), request);
 
         // Return the response with the business validation error
         return new ResponseEntity<>(
@@ -102,11 +124,52 @@ public class GlobalExceptionHandler {
     
     
     
+    // Handles unique key violations raised by the optimistic INSERT/UPDATE (duplicate email or phone number)
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<ApiResponse<List<String>>> handleDataIntegrityViolation(
+            DataIntegrityViolationException ex,
+            HttpServletRequest request) {
+
+        String duplicate = DuplicateKeys.message(ex);
+        if (duplicate == null) {
+            // The driver message quotes the offending values, only the type is logged outside DEBUG
+            logClientError("Data integrity violation", ex.getMostSpecificCause().getClass().getSimpleName(), request);
+            log.debug("Data integrity violation", ex);
+            return new ResponseEntity<>(
+                    buildApiResponse(
+                        HttpStatus.CONFLICT.value(),
+                        Status.FAIL,
+                        "Data integrity violation",
+                        List.of("Request conflicts with existing data"),
+                        request.getRequestURI(),
+                        LocalDateTime.now()
+                    ),
+                    HttpStatus.CONFLICT
+            );
+        }
+
+        logClientError("Business validation failed", duplicate, request);
+
+        return new ResponseEntity<>(
+                buildApiResponse(
+                    HttpStatus.BAD_REQUEST.value(),
+                    Status.FAIL,
+                    "Business validation failed",
+                    List.of(duplicate),
+                    request.getRequestURI(),
+                    LocalDateTime.now()
+                ),
+                HttpStatus.BAD_REQUEST
+        );
+    }
+
+
+
     @ExceptionHandler(ResourceNotFoundException.class)
     public ResponseEntity<ApiResponse<List<String>>> handleNotFound(ResourceNotFoundException ex,
     		HttpServletRequest request){
     	
-    	log.warn("Resources Not Found: {}" , ex.getMessage());
+    	logClientError("Resources Not Found", ex.getMessage(), request);
     	
     	return new ResponseEntity<>(
     			buildApiResponse(
@@ -122,16 +185,125 @@ public class GlobalExceptionHandler {
     }
     
 
+    // If-Match on PUT/DELETE named an outdated version: the client must re-read the user first
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<ApiResponse<List<String>>> handlePreconditionFailed(
+            PreconditionFailedException ex,
+            HttpServletRequest request) {
+
+        logClientError("Precondition failed", ex.getMessage(), request);
+
+        return new ResponseEntity<>(
+                buildApiResponse(
+                    HttpStatus.PRECONDITION_FAILED.value(),
+                    Status.FAIL,
+                    "Precondition failed",
+                    List.of(ex.getMessage()),
+                    request.getRequestURI(),
+                    LocalDateTime.now()
+                ),
+                HttpStatus.PRECONDITION_FAILED
+        );
+    }
+
+
+    // Optimistic locking: another request changed the user between our read and our write (a PUT whose
+    // version went stale, or a PATCH that ran out of retries). Nothing was written, the client may retry
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ApiResponse<List<String>>> handleOptimisticLockingFailure(
+            OptimisticLockingFailureException ex,
+            HttpServletRequest request) {
+
+        logClientError("Concurrent modification", ex.getMessage(), request);
+
+        return new ResponseEntity<>(
+                buildApiResponse(
+                    HttpStatus.CONFLICT.value(),
+                    Status.FAIL,
+                    "Conflict",
+                    List.of("The user was modified concurrently, retry the request"),
+                    request.getRequestURI(),
+                    LocalDateTime.now()
+                ),
+                HttpStatus.CONFLICT
+        );
+    }
+
+
+    // Handles saturated bounded resources (e.g. the password hashing pool): 503 with a Retry-After hint
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<ApiResponse<List<String>>> handleServiceUnavailable(
+            ServiceUnavailableException ex,
+            HttpServletRequest request) {
+
+        logClientError("Service unavailable", ex.getMessage(), request);
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(buildApiResponse(
+                    HttpStatus.SERVICE_UNAVAILABLE.value(),
+                    Status.ERROR,
+                    "Service temporarily unavailable",
+                    List.of(ex.getMessage()),
+                    request.getRequestURI(),
+                    LocalDateTime.now()
+                ));
+    }
+
+
+    // Handles clients over their per-operation rate limit: 429 with a Retry-After hint, the X-RateLimit-*
+    // headers are already on the response
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<ApiResponse<List<String>>> handleTooManyRequests(
+            TooManyRequestsException ex,
+            HttpServletRequest request) {
+
+        logClientError("Rate limit exceeded", ex.getMessage(), request);
+
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(buildApiResponse(
+                    HttpStatus.TOO_MANY_REQUESTS.value(),
+                    Status.ERROR,
+                    "Too many requests",
+                    List.of(ex.getMessage()),
+                    request.getRequestURI(),
+                    LocalDateTime.now()
+                ));
+    }
+
+
+    // Handles admin requests without a valid admin token
+    @ExceptionHandler(ForbiddenException.class)
+    public ResponseEntity<ApiResponse<List<String>>> handleForbidden(
+            ForbiddenException ex,
+            HttpServletRequest request) {
+
+        logClientError("Forbidden", ex.getMessage(), request);
+
+        return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                .body(buildApiResponse(
+                    HttpStatus.FORBIDDEN.value(),
+                    Status.ERROR,
+                    "Forbidden",
+                    List.of(ex.getMessage()),
+                    request.getRequestURI(),
+                    LocalDateTime.now()
+                ));
+    }
+
+
     // A catch-all handler for unexpected exceptions (e.g., server errors)
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ApiResponse<List<String>>> handleUnexpectedException(
             Exception ex,
             HttpServletRequest request) {
 
-        // Print the stack trace for debugging purposes
-        ex.printStackTrace();
-        
-        log.error("INTERNAL_SERVER_ERROR: {}" , ex.getMessage());
+        // Logged once, with the stack trace, through the async appender
+        log.atError().setMessage("INTERNAL_SERVER_ERROR")
+                .addKeyValue("path", request.getRequestURI())
+                .setCause(ex)
+                .log();
 
         // Return the response for unexpected errors
         return new ResponseEntity<>(
@@ -192,7 +364,7 @@ This method is a catch-all handler for any other unexpected exceptions. For exam
 
 The status is set to INTERNAL_SERVER_ERROR (500), which indicates a server error.
 
-The exception's stack trace is printed for debugging purposes (though this should be logged in production).
+The exception is logged once with its stack trace.
 
 
 
@@ -0,0 +1,9 @@
+package com.example.user_information.Exception;
+
+// If-Match named a version that is no longer current (412)
+public class PreconditionFailedException extends RuntimeException {
+
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.user_information.Exception;
+
+// Raised when a bounded resource is saturated; mapped to 503 with a Retry-After header
+public class ServiceUnavailableException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public ServiceUnavailableException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.user_information.Exception;
+
+// Raised when a client has used up its rate limit; mapped to 429 with a Retry-After header
+public class TooManyRequestsException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public TooManyRequestsException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
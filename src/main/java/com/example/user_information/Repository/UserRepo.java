@@ -1,16 +1,111 @@
 package com.example.user_information.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.example.user_information.Entity.User;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface UserRepo extends JpaRepository<User, Long> {
 	
+    // Read-only transactions may be served by a replica (ReadReplicaConfig)
+    @Transactional(readOnly = true)
     boolean existsByEmail(String email);
     
+    @Transactional(readOnly = true)
     boolean existsByPhoneNo(String phoneNo);
 
+    // Keyset scrolling: seeks past the given position without OFFSET and without a COUNT query
+    Window<User> findAllBy(ScrollPosition position, Sort sort, Limit limit);
+
+    @Query("select max(u.id) from User u")
+    Long findMaxId();
+
+    // Set-based duplicate check used by bulk registration: one query for a whole chunk of candidates.
+    // A union rather than "in ... or in ..." so each half is an index lookup instead of a table scan.
+    @Query("select u.email as email, u.phoneNo as phoneNo from User u where u.email in :emails "
+            + "union select u.email as email, u.phoneNo as phoneNo from User u where u.phoneNo in :phoneNos")
+    List<ContactView> findContacts(@Param("emails") Collection<String> emails,
+                                   @Param("phoneNos") Collection<String> phoneNos);
+
+    // Streams the whole table for exports; read-only so Hibernate keeps no snapshots, must run inside a transaction
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select u from User u order by u.id")
+    Stream<User> streamAll();
+
+    // Streams every email/phone pair for index builds; must be consumed inside a transaction
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select u.email as email, u.phoneNo as phoneNo from User u")
+    Stream<ContactView> streamContacts();
+
+    // A page without the COUNT(*) that findAll(Pageable) adds
+    List<User> findAllBy(Pageable pageable);
+
+    // Streams id, name and email of every user for the search index build; must be consumed inside a transaction
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select u.id as id, u.name as name, u.email as email from User u")
+    Stream<SearchView> streamSearchFields();
+
+    // Search fallback while the in-memory index is unavailable: a bounded scan, the pattern is "%term%" with
+    // % and _ escaped by '\'
+    @Query("select u from User u where lower(u.name) like :pattern escape '\\' "
+            + "or lower(u.email) like :pattern escape '\\' order by u.id")
+    @Transactional(readOnly = true)
+    List<User> searchByNameOrEmail(@Param("pattern") String pattern, Limit limit);
+
+    // Set-based deletes: one statement each, no entity is loaded. Every call runs in its own short transaction
+    // and returns the number of rows removed
+    @Transactional
+    @Modifying
+    @Query("delete from User u where u.id = :id")
+    int deleteRowById(@Param("id") Long id);
+
+    @Transactional
+    @Modifying
+    @Query("delete from User u where u.id = :id and u.version = :version")
+    int deleteRowByIdAndVersion(@Param("id") Long id, @Param("version") Long version);
+
+    @Transactional
+    @Modifying
+    @Query("delete from User u where u.id in :ids")
+    int deleteRowsByIds(@Param("ids") Collection<Long> ids);
+
+    // Next chunk of ids for a delete by filter, in id order after the previous chunk
+    @Query("select u.id from User u where u.age between :minAge and :maxAge and u.id > :afterId order by u.id")
+    List<Long> findIdsByAgeBetween(@Param("minAge") int minAge, @Param("maxAge") int maxAge,
+                                   @Param("afterId") long afterId, Limit limit);
+
+    interface ContactView {
+        String getEmail();
+        String getPhoneNo();
+    }
+
+    interface SearchView {
+        Long getId();
+        String getName();
+        String getEmail();
+    }
+
 
 }
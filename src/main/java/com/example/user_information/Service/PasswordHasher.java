@@ -0,0 +1,297 @@
+package com.example.user_information.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import com.example.user_information.DTO.PasswordHashingStatsDTO;
+import com.example.user_information.Exception.ServiceUnavailableException;
+
+import lombok.extern.slf4j.Slf4j;
+
+/*
+ * BCrypt password hashing on a dedicated, bounded worker pool.
+ *
+ * A hash costs tens of milliseconds of CPU, so it never runs on request threads. Callers hand the work to a
+ * fixed pool (half the cores by default, the rest stays available to reads) and wait for the result.
+ * Admission is limited to one permit per pool thread plus queue slot: a single registration that finds no
+ * free permit fails fast with ServiceUnavailableException (503 with Retry-After), bulk callers (batch and
+ * import) wait for permits instead, which throttles them to the pool's pace. Bulk callers only ever hold a
+ * bounded share of the permits (bulk-permits, half by default), so single registrations and updates keep
+ * the rest while an import runs.
+ *
+ * The work factor can be changed at runtime within 10-14 (the configured strength may be anything BCrypt
+ * accepts). Every hash carries its own cost ($2a$NN$), so existing hashes
+ * keep verifying; needsUpgrade() tells a caller that checked a password with matches() whether the stored
+ * value has a lower cost (or is a legacy plain text value) and should be rehashed while the raw password is
+ * at hand. Until such a flow exists, older hashes are replaced when the password is next set.
+ */
+@Slf4j
+@Component
+public class PasswordHasher implements DisposableBean {
+
+    public static final int MIN_STRENGTH = 4;
+    public static final int MAX_STRENGTH = 31;
+    // Range setStrength accepts at runtime: each step doubles the cost, 14 is already about a second per hash
+    public static final int MIN_RUNTIME_STRENGTH = 10;
+    public static final int MAX_RUNTIME_STRENGTH = 14;
+
+    private static final Pattern BCRYPT = Pattern.compile("^\\$2[aby]?\\$\\d\\d\\$[./0-9A-Za-z]{53}$");
+
+    private final ThreadPoolExecutor executor;
+    private final Semaphore permits;
+    private final Semaphore bulkPermits;    // -> share of permits bulk callers may hold at once
+    private final int capacity;
+    private final int bulkCapacity;
+    private final Duration timeout;
+
+    private volatile BCryptPasswordEncoder encoder;
+    private volatile int strength;
+
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong averageNanos = new AtomicLong();
+
+    public PasswordHasher(@Value("${user.password.hash.strength:10}") int strength,
+                          @Value("${user.password.hash.threads:0}") int threads,
+                          @Value("${user.password.hash.queue-capacity:64}") int queueCapacity,
+                          @Value("${user.password.hash.bulk-permits:0}") int bulkPermits,
+                          @Value("${user.password.hash.timeout:10s}") Duration timeout) {
+        if (strength < MIN_STRENGTH || strength > MAX_STRENGTH) {
+            throw new IllegalArgumentException("user.password.hash.strength must be between " + MIN_STRENGTH
+                    + " and " + MAX_STRENGTH + " but was " + strength);
+        }
+        applyStrength(strength);
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        this.capacity = poolSize + Math.max(0, queueCapacity);
+        this.bulkCapacity = bulkPermits > 0 ? Math.min(bulkPermits, capacity) : Math.max(1, capacity / 2);
+        this.permits = new Semaphore(capacity);
+        this.bulkPermits = new Semaphore(bulkCapacity);
+        this.timeout = timeout;
+        // The semaphores bound the queue; permits are returned in afterExecute, which also runs for tasks
+        // cancelled by a caller that timed out
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), threadFactory()) {
+            @Override
+            protected void afterExecute(Runnable task, Throwable failure) {
+                permits.release();
+                if (task instanceof BulkTask<?>) {
+                    PasswordHasher.this.bulkPermits.release();
+                }
+            }
+        };
+        log.info("Password hashing pool: {} threads, capacity {} ({} for bulk callers), BCrypt strength {}",
+                poolSize, capacity, bulkCapacity, strength);
+    }
+
+    // Hashes one password; 503 when the pool is saturated
+    public String hash(String raw) {
+        if (!permits.tryAcquire()) {
+            throw saturated();
+        }
+        BCryptPasswordEncoder current = encoder;
+        return await(submit(() -> encode(current, raw)));
+    }
+
+    // Hashes a bulk of passwords, waiting for free permits rather than failing. Each hash takes a bulk permit
+    // first, so bulk callers together never hold more than bulkCapacity of the permits
+    public List<String> hashAll(List<String> raws) {
+        List<Future<String>> futures = new ArrayList<>(raws.size());
+        try {
+            for (String raw : raws) {
+                if (!bulkPermits.tryAcquire(timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                    throw saturated();
+                }
+                if (!permits.tryAcquire(timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                    bulkPermits.release();
+                    throw saturated();
+                }
+                BCryptPasswordEncoder current = encoder;
+                futures.add(submitBulk(() -> encode(current, raw)));
+            }
+            List<String> hashes = new ArrayList<>(raws.size());
+            for (Future<String> future : futures) {
+                hashes.add(await(future));
+            }
+            return hashes;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw saturated();
+        } finally {
+            futures.forEach(future -> future.cancel(false));
+        }
+    }
+
+    // Checks a raw password against the stored value, a BCrypt hash or a legacy plain text password
+    public boolean matches(String raw, String stored) {
+        if (stored == null || raw == null) {
+            return false;
+        }
+        if (!isHash(stored)) {
+            return MessageDigest.isEqual(raw.getBytes(StandardCharsets.UTF_8), stored.getBytes(StandardCharsets.UTF_8));
+        }
+        if (!permits.tryAcquire()) {
+            throw saturated();
+        }
+        BCryptPasswordEncoder current = encoder;
+        return await(submit(() -> current.matches(raw, stored)));
+    }
+
+    // Non-blocking variant for event-loop callers (the reactive API): same permits, pool and timeout, the
+    // future completes on a hashing thread and fails with ServiceUnavailableException when saturated
+    public CompletableFuture<String> hashAsync(String raw) {
+        if (!permits.tryAcquire()) {
+            return CompletableFuture.failedFuture(saturated());
+        }
+        BCryptPasswordEncoder current = encoder;
+        return supply(() -> encode(current, raw));
+    }
+
+    // True when the stored value should be replaced by a hash with the current strength
+    public boolean needsUpgrade(String stored) {
+        return stored != null && (!isHash(stored) || encoder.upgradeEncoding(stored));
+    }
+
+    public void setStrength(int strength) {
+        if (strength < MIN_RUNTIME_STRENGTH || strength > MAX_RUNTIME_STRENGTH) {
+            throw new IllegalArgumentException("Strength must be between " + MIN_RUNTIME_STRENGTH + " and "
+                    + MAX_RUNTIME_STRENGTH);
+        }
+        applyStrength(strength);
+    }
+
+    private void applyStrength(int strength) {
+        this.encoder = new BCryptPasswordEncoder(strength);
+        this.strength = strength;
+        averageNanos.set(0);
+        log.info("BCrypt strength set to {}", strength);
+    }
+
+    public PasswordHashingStatsDTO stats() {
+        return new PasswordHashingStatsDTO(strength, executor.getCorePoolSize(), capacity, bulkCapacity,
+                executor.getActiveCount(), executor.getQueue().size(), executor.getCompletedTaskCount(), rejected.get(),
+                TimeUnit.NANOSECONDS.toMillis(averageNanos.get()));
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private static boolean isHash(String stored) {
+        return BCRYPT.matcher(stored).matches();
+    }
+
+    // The encoder is taken when the task is submitted, a strength change does not affect queued hashes
+    private String encode(BCryptPasswordEncoder current, String raw) {
+        long start = System.nanoTime();
+        String hash = current.encode(raw);
+        long elapsed = System.nanoTime() - start;
+        // Exponential moving average, only used to size the Retry-After hint
+        averageNanos.updateAndGet(avg -> avg == 0 ? elapsed : avg + (elapsed - avg) / 8);
+        return hash;
+    }
+
+    private <T> Future<T> submit(Callable<T> task) {
+        try {
+            return executor.submit(task);
+        } catch (RejectedExecutionException ex) {
+            // Only after shutdown
+            permits.release();
+            throw saturated();
+        }
+    }
+
+    private <T> Future<T> submitBulk(Callable<T> task) {
+        BulkTask<T> future = new BulkTask<>(task);
+        try {
+            executor.execute(future);
+            return future;
+        } catch (RejectedExecutionException ex) {
+            permits.release();
+            bulkPermits.release();
+            throw saturated();
+        }
+    }
+
+    private <T> CompletableFuture<T> supply(Supplier<T> task) {
+        CompletableFuture<T> future;
+        try {
+            future = CompletableFuture.supplyAsync(task, executor);
+        } catch (RejectedExecutionException ex) {
+            permits.release();
+            return CompletableFuture.failedFuture(saturated());
+        }
+        // A future that timed out is complete, its task is skipped if it has not started yet (as with await())
+        return future.orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS).exceptionallyCompose(ex -> {
+            Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+            if (cause instanceof TimeoutException) {
+                return CompletableFuture.failedFuture(saturated());
+            }
+            return CompletableFuture.failedFuture(new IllegalStateException("Password hashing failed", cause));
+        });
+    }
+
+    private <T> T await(Future<T> future) {
+        try {
+            return future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            future.cancel(false);
+            throw saturated();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            future.cancel(false);
+            throw saturated();
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException("Password hashing failed", ex.getCause());
+        }
+    }
+
+    private ServiceUnavailableException saturated() {
+        rejected.incrementAndGet();
+        // Time for the pool to drain a full queue
+        long drainMillis = TimeUnit.NANOSECONDS.toMillis(averageNanos.get()) * capacity / executor.getCorePoolSize();
+        return new ServiceUnavailableException("Password hashing is saturated, retry later",
+                Math.max(1, (drainMillis + 999) / 1000));
+    }
+
+    // Marks hashes submitted by hashAll, whose bulk permit afterExecute returns
+    private static final class BulkTask<T> extends FutureTask<T> {
+
+        private BulkTask(Callable<T> task) {
+            super(task);
+        }
+    }
+
+    private static ThreadFactory threadFactory() {
+        AtomicInteger count = new AtomicInteger();
+        return task -> {
+            Thread thread = new Thread(task, "password-hash-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
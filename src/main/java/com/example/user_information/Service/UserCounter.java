@@ -0,0 +1,83 @@
+package com.example.user_information.Service;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.user_information.Config.ReplicaRoutingDataSource;
+import com.example.user_information.Repository.UserRepo;
+
+import lombok.extern.slf4j.Slf4j;
+
+/*
+ * Number of users, kept by the UserService write paths so GET /user?count=approximate can skip SELECT COUNT(*).
+ *
+ * The value is the last real count plus every adjustment made since. Writes adjust it once their transaction
+ * has committed, so rolled back writes leave it alone; rows written outside UserService leave it off until
+ * the scheduled reconcile, which counts the table every user.count.reconcile-interval on the primary (a
+ * lagging replica would undo the adjustments of writes it has not applied yet). Adjustments made while the
+ * COUNT(*) runs are kept on top of the new count, so every reconcile takes effect however busy the writes
+ * are. Until the first count has finished get() answers UNKNOWN and callers count exactly.
+ */
+@Slf4j
+@Component
+public class UserCounter {
+
+    public static final long UNKNOWN = -1;
+
+    private final UserRepo userRepo;
+
+    private final AtomicLong adjustments = new AtomicLong();  // -> sum of every committed adjustment
+    private volatile Long base;                               // -> last count minus the adjustments it includes
+
+    public UserCounter(UserRepo userRepo) {
+        this.userRepo = userRepo;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        reconcile();
+    }
+
+    @Scheduled(initialDelayString = "${user.count.reconcile-interval:PT5M}",
+               fixedDelayString = "${user.count.reconcile-interval:PT5M}")
+    public synchronized void reconcile() {
+        // Adjustments before this point belong to commits the count sees, later ones (mostly) to commits it
+        // does not: they stay on top of the new base
+        long before = adjustments.get();
+        long counted = ReplicaRoutingDataSource.onPrimary(() -> userRepo.count());
+        long previous = get();
+        base = counted - before;
+        long current = get();
+        if (previous != UNKNOWN && previous != current) {
+            log.info("User count reconciled from {} to {}", previous, current);
+        }
+    }
+
+    public long get() {
+        Long counted = base;
+        return counted == null ? UNKNOWN : Math.max(0, counted + adjustments.get());
+    }
+
+    // Applied when the surrounding transaction commits, at once outside a transaction
+    public void add(long delta) {
+        if (delta == 0) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            adjustments.addAndGet(delta);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                adjustments.addAndGet(delta);
+            }
+        });
+    }
+}
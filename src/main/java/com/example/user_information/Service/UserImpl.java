@@ -1,22 +1,78 @@
 package com.example.user_information.Service;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
 
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.example.user_information.ApiResponse;
+import com.example.user_information.Common.Csv;
+import com.example.user_information.Common.DuplicateKeys;
+import com.example.user_information.Common.ExportFormat;
+import com.example.user_information.Common.LogRateLimiter;
 import com.example.user_information.Common.Status;
+import com.example.user_information.Common.TrigramIndex;
+import com.example.user_information.Common.UserCursor;
+import com.example.user_information.Config.CacheConfig;
+import com.example.user_information.Config.ReplicaRoutingDataSource;
+import com.example.user_information.DTO.CursorPageDTO;
+import com.example.user_information.DTO.UserBatchResultDTO;
+import com.example.user_information.DTO.UserDeleteResultDTO;
+import com.example.user_information.DTO.UserLookupDTO;
+import com.example.user_information.DTO.UserPatchDTO;
 import com.example.user_information.DTO.UserRegisterDTO;
 import com.example.user_information.DTO.UserResponseDTO;
+import com.example.user_information.DTO.UserSearchHitDTO;
 import com.example.user_information.Entity.User;
+import com.example.user_information.Exception.PreconditionFailedException;
 import com.example.user_information.Exception.ResourceNotFoundException;
 import com.example.user_information.Repository.UserRepo;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j // -> Simple Logging Facade for Java.
@@ -24,33 +80,88 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public class UserImpl implements UserService {
 
+    // Success paths run on every request: at most one line per second each, carrying the skipped count
+    private static final LogRateLimiter REGISTERED_LOG = new LogRateLimiter(Duration.ofSeconds(1));
+    private static final LogRateLimiter FETCHED_LOG = new LogRateLimiter(Duration.ofSeconds(1));
+    private static final LogRateLimiter PAGE_LOG = new LogRateLimiter(Duration.ofSeconds(1));
+
     private final UserRepo userRepo;
 
+    private final Validator validator;
+
+    private final UserUniquenessIndex uniquenessIndex;
+
+    private final UserSearchIndex searchIndex;
+
+    private final UserCounter userCounter;
+
+    private final EntityManager entityManager;
+
+    private final ObjectMapper objectMapper;
+
+    private final PasswordHasher passwordHasher;
+
+    private final CacheManager cacheManager;
+
+    private final TransactionTemplate transactionTemplate;
+
+    // Bumped before every eviction from the users cache: a multi-get that loaded rows before it must not
+    // write them back (see cacheLoaded)
+    private final AtomicLong cacheEvictions = new AtomicLong();
+
+    @Value("${user.batch.max-size:1000}")
+    private int maxBatchSize = 1000;
+
+    @Value("${user.lookup.chunk-size:500}")
+    private int lookupChunkSize = 500;
+
+    @Value("${user.delete.max-ids:100000}")
+    private int maxDeleteIds = 100_000;
+
+    @Value("${user.delete.chunk-size:500}")
+    private int deleteChunkSize = 500;
+
+    @Value("${user.patch.max-attempts:5}")
+    private int patchMaxAttempts = 5;
+
+    @Value("${user.search.max-results:100}")
+    private int maxSearchResults = 100;
+
     @Override
     public ApiResponse<UserResponseDTO> addUser(UserRegisterDTO dto) {
 
-        log.trace("Entering addUser method with parameters: {}", dto);
-
-        if (userRepo.existsByEmail(dto.getEmail())) {
-            throw new IllegalArgumentException("Email already registered");
+        // Only ask the database when the in-memory index cannot rule the value out. In the common case the
+        // INSERT is the only statement; the unique keys on email/phone_no catch concurrent registrations and
+        // GlobalExceptionHandler maps the violation to the same 400 responses
+        if (uniquenessIndex.mightContainEmail(dto.getEmail())) {
+            if (userRepo.existsByEmail(dto.getEmail())) {
+                throw new IllegalArgumentException("Email already registered");
+            }
+            uniquenessIndex.recordFalsePositive();
         }
-        if (userRepo.existsByPhoneNo(dto.getPhoneNo())) {
-            throw new IllegalArgumentException("Phone number already registered");
+        if (uniquenessIndex.mightContainPhoneNo(dto.getPhoneNo())) {
+            if (userRepo.existsByPhoneNo(dto.getPhoneNo())) {
+                throw new IllegalArgumentException("Phone number already registered");
+            }
+            uniquenessIndex.recordFalsePositive();
         }
 
-        User user = new User();
-
-        user.setName(dto.getName());
-        user.setAge(dto.getAge());
-        user.setEmail(dto.getEmail());
-        user.setPhoneNo(dto.getPhoneNo());
-        user.setPassword(dto.getPassword());
-
-        log.info("User Registered Successfully{}" , dto);
+        // Hashed on the bounded hashing pool, 503 when it is saturated
+        User user = toEntity(dto, passwordHasher.hash(dto.getPassword()), new User());
 
         userRepo.save(user);
+        userCounter.add(1);
+        uniquenessIndex.add(user.getEmail(), user.getPhoneNo());
+        searchIndex.put(user.getId(), user.getName(), user.getEmail());
 
-        UserResponseDTO responseDto = new UserResponseDTO(user.getName(), user.getEmail(), user.getPhoneNo());
+        if (REGISTERED_LOG.tryAcquire()) {
+            log.atInfo().setMessage("User registered")
+                    .addKeyValue("userId", user.getId())
+                    .addKeyValue("suppressed", REGISTERED_LOG.drainSuppressed())
+                    .log();
+        }
+
+        UserResponseDTO responseDto = toResponse(user);
 
         return new ApiResponse<>(
                 201,
@@ -64,65 +175,585 @@ public class UserImpl implements UserService {
 
 
     @Override
-    public Page<UserResponseDTO> getUsers(Pageable pageable){
+    public ApiResponse<List<UserBatchResultDTO>> addUsers(List<UserRegisterDTO> dtos) {
+
+        if (dtos == null || dtos.isEmpty()) {
+            throw new IllegalArgumentException("Batch must contain at least one user");
+        }
+        if (dtos.size() > maxBatchSize) {
+            throw new IllegalArgumentException("Batch size must not exceed " + maxBatchSize + " users");
+        }
+
+        UserBatchResultDTO[] results = new UserBatchResultDTO[dtos.size()];
+        List<Integer> candidates = new ArrayList<>(dtos.size());
+        Set<String> batchEmails = new HashSet<>();
+        Set<String> batchPhoneNos = new HashSet<>();
+
+        // Validate every entry and drop duplicates inside the batch itself before touching the database
+        for (int i = 0; i < dtos.size(); i++) {
+            UserRegisterDTO dto = dtos.get(i);
+            if (dto == null) {
+                results[i] = rejected(i, List.of("User entry is required"));
+                continue;
+            }
+            List<String> errors = validator.validate(dto).stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .toList();
+            if (!errors.isEmpty()) {
+                results[i] = rejected(i, errors);
+            } else if (!batchEmails.add(dto.getEmail())) {
+                results[i] = rejected(i, List.of("Email duplicated within batch"));
+            } else if (!batchPhoneNos.add(dto.getPhoneNo())) {
+                results[i] = rejected(i, List.of("Phone number duplicated within batch"));
+            } else {
+                candidates.add(i);
+            }
+        }
+
+        // Duplicate check first: rows that will be rejected never cost a BCrypt hash
+        Set<String> takenEmails = new HashSet<>();
+        Set<String> takenPhoneNos = new HashSet<>();
+        boolean anyMaybeTaken = false;
+        for (int i : candidates) {
+            UserRegisterDTO dto = dtos.get(i);
+            // Evaluate both lookups so the index statistics stay accurate
+            boolean emailMaybeTaken = uniquenessIndex.mightContainEmail(dto.getEmail());
+            boolean phoneMaybeTaken = uniquenessIndex.mightContainPhoneNo(dto.getPhoneNo());
+            anyMaybeTaken |= emailMaybeTaken || phoneMaybeTaken;
+        }
+        if (anyMaybeTaken) {
+            for (UserRepo.ContactView contact : userRepo.findContacts(batchEmails, batchPhoneNos)) {
+                takenEmails.add(contact.getEmail());
+                takenPhoneNos.add(contact.getPhoneNo());
+            }
+        }
+
+        List<Integer> userIndexes = new ArrayList<>(candidates.size());
+        for (int i : candidates) {
+            UserRegisterDTO dto = dtos.get(i);
+            if (takenEmails.contains(dto.getEmail())) {
+                results[i] = rejected(i, List.of("Email already registered"));
+            } else if (takenPhoneNos.contains(dto.getPhoneNo())) {
+                results[i] = rejected(i, List.of("Phone number already registered"));
+            } else {
+                userIndexes.add(i);
+            }
+        }
+
+        // Hashed with no connection held while the hashing pool works through the batch; saveAll runs in its
+        // own transaction and the unique keys still catch concurrent registrations
+        List<String> hashes = passwordHasher.hashAll(userIndexes.stream().map(i -> dtos.get(i).getPassword()).toList());
+
+        List<User> users = new ArrayList<>(userIndexes.size());
+        for (int j = 0; j < userIndexes.size(); j++) {
+            users.add(toEntity(dtos.get(userIndexes.get(j)), hashes.get(j), new User()));
+        }
+
+        // A single saveAll lets Hibernate group the INSERTs into JDBC batches (hibernate.jdbc.batch_size). A
+        // registration that raced the duplicate check rolls it back: then every row is saved on its own so only
+        // the conflicting ones are rejected
+        List<User> saved;
+        try {
+            userRepo.saveAll(users);
+            saved = users;
+        } catch (DataIntegrityViolationException ex) {
+            log.info("Batch registration hit a concurrent duplicate, saving {} users one by one", users.size());
+            saved = new ArrayList<>(users.size());
+            List<Integer> savedIndexes = new ArrayList<>(users.size());
+            for (int j = 0; j < userIndexes.size(); j++) {
+                int i = userIndexes.get(j);
+                User user = toEntity(dtos.get(i), hashes.get(j), new User());
+                try {
+                    saved.add(userRepo.save(user));
+                    savedIndexes.add(i);
+                } catch (DataIntegrityViolationException rowEx) {
+                    String duplicate = DuplicateKeys.message(rowEx);
+                    results[i] = rejected(i, List.of(duplicate != null ? duplicate : "Conflicts with existing data"));
+                }
+            }
+            userIndexes = savedIndexes;
+        }
+        userCounter.add(saved.size());
+        for (User user : saved) {
+            uniquenessIndex.add(user.getEmail(), user.getPhoneNo());
+            searchIndex.put(user.getId(), user.getName(), user.getEmail());
+        }
+
+        for (int j = 0; j < saved.size(); j++) {
+            User user = saved.get(j);
+            int i = userIndexes.get(j);
+            results[i] = new UserBatchResultDTO(i, Status.SUCCESS,
+                    toResponse(user), null);
+        }
+
+        int registered = saved.size();
+        int rejected = dtos.size() - registered;
+        log.info("Batch registration finished: {} registered, {} rejected", registered, rejected);
+
+        int code = rejected == 0 ? 201 : registered == 0 ? 400 : 207;
+        return new ApiResponse<>(
+                code,
+                registered == 0 ? Status.FAIL : Status.SUCCESS,
+                registered + " users registered, " + rejected + " rejected",
+                List.of(results),
+                null,
+                LocalDateTime.now()
+        );
+    }
+
+    private UserBatchResultDTO rejected(int index, List<String> errors) {
+        return new UserBatchResultDTO(index, Status.FAIL, null, errors);
+    }
+
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<UserResponseDTO> getUsers(Pageable pageable, boolean exactCount){
     	
-    	Page<User> userPage = userRepo.findAll(pageable);
+    	long total = exactCount ? UserCounter.UNKNOWN : userCounter.get();
+    	// PageImpl corrects the total on the last page, where offset + content is exact
+    	Page<User> userPage = total == UserCounter.UNKNOWN
+    			? userRepo.findAll(pageable)
+    			: new PageImpl<>(userRepo.findAllBy(pageable), pageable, total);
     	
     	if (userPage.isEmpty()) {
-    		log.warn("User not found");
+    		log.debug("No users on page {}", pageable.getPageNumber());
             throw new ResourceNotFoundException("No users found.");
     	}
-    	Page<UserResponseDTO> dto = userPage.map(user -> new UserResponseDTO(
-    			user.getName(),
-    			user.getEmail(),
-    			user.getPhoneNo()
-    			));
-    	log.info("User get Successfully: {}", userPage);
+    	Page<UserResponseDTO> dto = userPage.map(UserImpl::toResponse);
+    	if (PAGE_LOG.tryAcquire()) {
+    		log.atInfo().setMessage("User page fetched")
+    				.addKeyValue("page", userPage.getNumber())
+    				.addKeyValue("users", userPage.getNumberOfElements())
+    				.addKeyValue("suppressed", PAGE_LOG.drainSuppressed())
+    				.log();
+    	}
     	
     	return dto;
 
     	}
 
     @Override
+    @Transactional(readOnly = true)
+    public CursorPageDTO<UserResponseDTO> getUsersAfter(String cursor, int size, String sortBy, String direction) {
+
+        if (size < 1) {
+            throw new IllegalArgumentException("Page size must be at least 1");
+        }
+
+        // The cursor remembers the ordering it was created with, only the first request uses sortBy/direction
+        ScrollPosition position;
+        if (cursor == null || cursor.isBlank()) {
+            UserCursor.checkSortKey(sortBy);
+            position = ScrollPosition.keyset();
+        } else {
+            UserCursor after = UserCursor.decode(cursor);
+            sortBy = after.sortBy();
+            direction = after.direction().name();
+            position = ScrollPosition.forward(after.keys());
+        }
+
+        Sort.Direction dir = direction.equalsIgnoreCase("desc") ? Sort.Direction.DESC : Sort.Direction.ASC;
+        Sort sort = "id".equals(sortBy) ? Sort.by(dir, "id") : Sort.by(dir, sortBy).and(Sort.by(dir, "id"));
+
+        Window<User> window = userRepo.findAllBy(position, sort, Limit.of(size));
+
+        List<UserResponseDTO> content = window.getContent().stream()
+                .map(UserImpl::toResponse)
+                .toList();
+        String nextCursor = null;
+        if (window.hasNext()) {
+            User last = window.getContent().get(window.size() - 1);
+            nextCursor = UserCursor.of(last, sortBy, dir).encode();
+        }
+        if (PAGE_LOG.tryAcquire()) {
+            log.atInfo().setMessage("User slice fetched")
+                    .addKeyValue("users", content.size())
+                    .addKeyValue("hasNext", window.hasNext())
+                    .addKeyValue("suppressed", PAGE_LOG.drainSuppressed())
+                    .log();
+        }
+
+        return new CursorPageDTO<>(content, content.size(), window.hasNext(), nextCursor);
+    }
+
+    // sync: one load per id at a time, run inside the cache's atomic compute. An eviction for the id waits
+    // for a running load, so a row read before a write committed cannot be cached after its eviction. The
+    // load reads the primary: a lagging replica's row would stay cached after the write's eviction
+    @Override
+    @Cacheable(cacheNames = CacheConfig.USERS_CACHE, key = "#id", sync = true)
     public UserResponseDTO getUserById(Long id) {
-         User user = userRepo.findById(id)
-                 .orElseThrow(() -> {
-                     log.warn("User Not Found with ID");
-                     return new ResourceNotFoundException("User Not Found with ID" + id);
-                 });
-         UserResponseDTO response = new UserResponseDTO(
-                 user.getName(),
-                 user.getEmail(),
-                 user.getPhoneNo()
-         );
-         log.info("User Fetched Successfully{}", response);
-         return response;
+         User user = ReplicaRoutingDataSource.onPrimary(() -> userRepo.findById(id))
+                 .orElseThrow(() -> new ResourceNotFoundException("User Not Found with ID" + id));
+         if (FETCHED_LOG.tryAcquire()) {
+             log.atInfo().setMessage("User fetched")
+                     .addKeyValue("userId", id)
+                     .addKeyValue("suppressed", FETCHED_LOG.drainSuppressed())
+                     .log();
+         }
+         return toResponse(user);
     }
     
     @Override
-    public UserResponseDTO updateUser(Long id, UserRegisterDTO dto) {
+    public UserLookupDTO getUsersByIds(List<Long> ids) {
+
+        if (ids == null || ids.isEmpty()) {
+            throw new IllegalArgumentException("At least one user id is required");
+        }
+        if (ids.size() > maxBatchSize) {
+            throw new IllegalArgumentException("Lookup must not exceed " + maxBatchSize + " ids");
+        }
+
+        Set<Long> distinct = new LinkedHashSet<>(ids.size() * 2);
+        for (Long id : ids) {
+            if (id == null) {
+                throw new IllegalArgumentException("User ids must not be null");
+            }
+            distinct.add(id);
+        }
+
+        // Same entries as getUserById: hits cost nothing, the rest is loaded from the primary by primary key in
+        // IN-list chunks and cached on the way back unless an eviction happened meanwhile
+        Cache cache = cacheManager.getCache(CacheConfig.USERS_CACHE);
+        long evictionsBeforeLoad = cacheEvictions.get();
+        Map<Long, UserResponseDTO> found = new HashMap<>(distinct.size() * 2);
+        List<Long> misses = new ArrayList<>();
+        for (Long id : distinct) {
+            UserResponseDTO cached = cache == null ? null : cache.get(id, UserResponseDTO.class);
+            if (cached != null) {
+                found.put(id, cached);
+            } else {
+                misses.add(id);
+            }
+        }
+        for (int from = 0; from < misses.size(); from += lookupChunkSize) {
+            List<Long> chunk = misses.subList(from, Math.min(from + lookupChunkSize, misses.size()));
+            for (User user : ReplicaRoutingDataSource.onPrimary(() -> userRepo.findAllById(chunk))) {
+                UserResponseDTO dto = toResponse(user);
+                found.put(user.getId(), dto);
+                cacheLoaded(cache, user.getId(), dto, evictionsBeforeLoad);
+            }
+        }
+
+        Map<Long, UserResponseDTO> users = new LinkedHashMap<>(found.size() * 2);
+        List<Long> missing = new ArrayList<>();
+        for (Long id : distinct) {
+            UserResponseDTO dto = found.get(id);
+            if (dto != null) {
+                users.put(id, dto);
+            } else {
+                missing.add(id);
+            }
+        }
+        if (FETCHED_LOG.tryAcquire()) {
+            log.atInfo().setMessage("Users fetched by id")
+                    .addKeyValue("requested", distinct.size())
+                    .addKeyValue("cacheHits", distinct.size() - misses.size())
+                    .addKeyValue("missing", missing.size())
+                    .addKeyValue("suppressed", FETCHED_LOG.drainSuppressed())
+                    .log();
+        }
+        return new UserLookupDTO(users, missing);
+    }
+
+    @Override
+    public List<UserSearchHitDTO> searchUsers(String query, int limit) {
+
+        String q = query == null ? "" : query.strip();
+        if (q.length() < TrigramIndex.MIN_QUERY_LENGTH) {
+            throw new IllegalArgumentException("Search query must be at least " + TrigramIndex.MIN_QUERY_LENGTH
+                    + " characters");
+        }
+        if (limit < 1 || limit > maxSearchResults) {
+            throw new IllegalArgumentException("Search limit must be between 1 and " + maxSearchResults);
+        }
+
+        List<TrigramIndex.Hit> hits = searchIndex.search(q, limit);
+        if (hits != null) {
+            return hits.stream()
+                    .map(hit -> new UserSearchHitDTO(hit.id(), hit.name(), hit.email()))
+                    .toList();
+        }
+        // Index not built yet or over its memory cap: a bounded LIKE scan, without the prefix ranking
+        String pattern = "%" + q.toLowerCase(Locale.ROOT)
+                .replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+        return userRepo.searchByNameOrEmail(pattern, Limit.of(limit)).stream()
+                .map(user -> new UserSearchHitDTO(user.getId(), user.getName(), user.getEmail()))
+                .toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportUsers(OutputStream out, ExportFormat format) throws IOException {
+
+        ObjectWriter jsonWriter = objectMapper.writerFor(UserResponseDTO.class);
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        if (format == ExportFormat.CSV) {
+            writer.write("name,email,phoneNo\n");
+        }
+
+        long count = 0;
+        try (Stream<User> users = userRepo.streamAll()) {
+            Iterator<User> it = users.iterator();
+            while (it.hasNext()) {
+                User user = it.next();
+                UserResponseDTO dto = toResponse(user);
+                // Detach as we go so the persistence context does not grow with the table
+                entityManager.detach(user);
+                if (format == ExportFormat.CSV) {
+                    writer.write(Csv.escape(dto.getName()));
+                    writer.write(',');
+                    writer.write(Csv.escape(dto.getEmail()));
+                    writer.write(',');
+                    writer.write(Csv.escape(dto.getPhoneNo()));
+                } else {
+                    writer.write(jsonWriter.writeValueAsString(dto));
+                }
+                writer.write('\n');
+                count++;
+            }
+        }
+        writer.flush();
+        log.info("User export finished: {} users as {}", count, format);
+    }
+
+    @Override
+    public UserResponseDTO updateUser(Long id, UserRegisterDTO dto, Long expectedVersion) {
         User user = userRepo.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with Id" + id));
+        checkVersion(user, expectedVersion);
 
-        user.setName(dto.getName());
-        user.setAge(dto.getAge());
-        user.setEmail(dto.getEmail());
-        user.setPhoneNo(dto.getPhoneNo());
-        user.setPassword(dto.getPassword());
+        toEntity(dto, passwordHasher.hash(dto.getPassword()), user);
 
-        userRepo.save(user);
-        log.info("User Update Successfully: {}", user);
+        // save() merges the detached entity, the returned copy carries the new version
+        User saved = userRepo.save(user);
+        evictAfterCommit(List.of(id));
+        uniquenessIndex.add(saved.getEmail(), saved.getPhoneNo());
+        searchIndex.put(saved.getId(), saved.getName(), saved.getEmail());
+        log.atInfo().setMessage("User updated").addKeyValue("userId", id).log();
 
-        return new UserResponseDTO(user.getName(), user.getEmail(), user.getPhoneNo());
+        return toResponse(saved);
     }
 
 
     @Override
-    public void deleteUserById(Long id) {
+    public UserResponseDTO patchUser(Long id, UserPatchDTO dto, Long expectedVersion) {
+        // Hashed once, before any transaction, so no connection waits on the hashing pool
+        String passwordHash = dto.getPassword() == null ? null : passwordHasher.hash(dto.getPassword());
+
+        // Optimistic: read, apply, UPDATE ... WHERE version = ?. A concurrent commit fails the flush and the
+        // patch is re-applied on a fresh read in a new transaction; no row lock is taken before the UPDATE.
+        // With If-Match the fresh read no longer matches and the retry ends in 412
+        for (int attempt = 1; ; attempt++) {
+            try {
+                UserResponseDTO patched = transactionTemplate.execute(
+                        status -> applyPatch(id, dto, passwordHash, expectedVersion));
+                evictAfterCommit(List.of(id));
+                if (dto.getEmail() != null || dto.getPhoneNo() != null) {
+                    uniquenessIndex.add(patched.getEmail(), patched.getPhoneNo());
+                }
+                if (dto.getName() != null || dto.getEmail() != null) {
+                    searchIndex.put(id, patched.getName(), patched.getEmail());
+                }
+                log.atInfo().setMessage("User patched")
+                        .addKeyValue("userId", id)
+                        .addKeyValue("attempts", attempt)
+                        .log();
+                return patched;
+            } catch (OptimisticLockingFailureException ex) {
+                if (attempt >= patchMaxAttempts) {
+                    throw ex;
+                }
+                backOff(attempt);
+            }
+        }
+    }
+
+    private UserResponseDTO applyPatch(Long id, UserPatchDTO dto, String passwordHash, Long expectedVersion) {
         User user = userRepo.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with Id" + id));
-        userRepo.delete(user);
-        log.info("User deleted Successfully: Id {}", id);
+        checkVersion(user, expectedVersion);
+
+        if (dto.getName() != null) {
+            user.setName(dto.getName());
+        }
+        if (dto.getEmail() != null) {
+            user.setEmail(dto.getEmail());
+        }
+        if (dto.getAge() != null) {
+            user.setAge(dto.getAge());
+        }
+        if (dto.getPhoneNo() != null) {
+            user.setPhoneNo(dto.getPhoneNo());
+        }
+        if (passwordHash != null) {
+            user.setPassword(passwordHash);
+        }
+        // Flushed here so a conflict surfaces inside the retry loop and the response carries the new version
+        userRepo.flush();
+        return toResponse(user);
+    }
+
+    // Randomised so that writers which collided do not collide again on the next attempt
+    private static void backOff(int attempt) {
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(1, 1L + (5L << attempt)));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while retrying a user patch", ex);
+        }
+    }
+
+    @Override
+    public void deleteUserById(Long id, Long expectedVersion) {
+        // One DELETE, the version condition included; only a miss needs a second look to tell 404 from 412
+        int deleted = expectedVersion == null
+                ? userRepo.deleteRowById(id)
+                : userRepo.deleteRowByIdAndVersion(id, expectedVersion);
+        if (deleted == 0) {
+            if (expectedVersion != null && userRepo.existsById(id)) {
+                throw new PreconditionFailedException("User " + id + " has changed, ETag does not match");
+            }
+            throw new ResourceNotFoundException("User not found with Id" + id);
+        }
+        evictAfterCommit(List.of(id));
+        userCounter.add(-1);
+        searchIndex.remove(List.of(id));
+        log.atInfo().setMessage("User deleted").addKeyValue("userId", id).log();
+    }
+
+    @Override
+    public UserDeleteResultDTO deleteUsersByIds(List<Long> ids) {
+
+        if (ids == null || ids.isEmpty()) {
+            throw new IllegalArgumentException("At least one user id is required");
+        }
+        if (ids.size() > maxDeleteIds) {
+            throw new IllegalArgumentException("Delete must not exceed " + maxDeleteIds + " ids");
+        }
+        Set<Long> distinct = new LinkedHashSet<>(ids.size() * 2);
+        for (Long id : ids) {
+            if (id == null) {
+                throw new IllegalArgumentException("User ids must not be null");
+            }
+            distinct.add(id);
+        }
+
+        // One DELETE ... IN per chunk, each in its own transaction so row locks are held briefly
+        List<Long> idList = new ArrayList<>(distinct);
+        long deleted = 0;
+        for (int from = 0; from < idList.size(); from += deleteChunkSize) {
+            List<Long> chunk = idList.subList(from, Math.min(from + deleteChunkSize, idList.size()));
+            int rows = userRepo.deleteRowsByIds(chunk);
+            deleted += rows;
+            userCounter.add(-rows);
+            evictAfterCommit(chunk);
+            searchIndex.remove(chunk);
+        }
+
+        log.atInfo().setMessage("Users deleted by id")
+                .addKeyValue("requested", distinct.size())
+                .addKeyValue("deleted", deleted)
+                .log();
+        return new UserDeleteResultDTO(deleted, distinct.size() - deleted);
+    }
+
+    @Override
+    public UserDeleteResultDTO deleteUsersByAge(int minAge, int maxAge) {
+
+        if (minAge > maxAge) {
+            throw new IllegalArgumentException("minAge must not be greater than maxAge");
+        }
+
+        // Walks the matching ids in id order, chunk by chunk: a short SELECT of ids, then a DELETE by primary
+        // key, instead of one long statement locking every matching row
+        long deleted = 0;
+        long afterId = Long.MIN_VALUE;
+        List<Long> chunk;
+        do {
+            chunk = userRepo.findIdsByAgeBetween(minAge, maxAge, afterId, Limit.of(deleteChunkSize));
+            if (!chunk.isEmpty()) {
+                int rows = userRepo.deleteRowsByIds(chunk);
+                deleted += rows;
+                userCounter.add(-rows);
+                evictAfterCommit(chunk);
+                searchIndex.remove(chunk);
+                afterId = chunk.get(chunk.size() - 1);
+            }
+        } while (chunk.size() == deleteChunkSize);
+
+        log.atInfo().setMessage("Users deleted by age")
+                .addKeyValue("minAge", minAge)
+                .addKeyValue("maxAge", maxAge)
+                .addKeyValue("deleted", deleted)
+                .log();
+        return new UserDeleteResultDTO(deleted, 0);
+    }
+
+    // Writes evict rather than put: the next read loads the committed row. Inside a transaction the eviction
+    // waits for the commit, so no reader can cache the old row again in between
+    private void evictAfterCommit(List<Long> ids) {
+        Cache cache = cacheManager.getCache(CacheConfig.USERS_CACHE);
+        if (cache == null) {
+            return;
+        }
+        List<Long> evicted = List.copyOf(ids);
+        Runnable evict = () -> {
+            cacheEvictions.incrementAndGet();
+            evicted.forEach(cache::evict);
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict.run();
+                }
+            });
+        } else {
+            evict.run();
+        }
+    }
+
+    // Caches a row loaded outside getUserById. The check runs in the cache's atomic compute for the id: an
+    // eviction after the rows were read either bumped the counter already (not cached) or waits and removes
+    // the entry after us
+    private void cacheLoaded(Cache cache, Long id, UserResponseDTO dto, long evictionsBeforeLoad) {
+        if (cache == null) {
+            return;
+        }
+        try {
+            cache.get(id, () -> {
+                if (cacheEvictions.get() != evictionsBeforeLoad) {
+                    throw new IllegalStateException("Evicted while loading");
+                }
+                return dto;
+            });
+        } catch (Cache.ValueRetrievalException ex) {
+            // Not cached, the next read loads it again
+        }
+    }
+
+    // If-Match: the version the client last saw must still be the current one
+    private static void checkVersion(User user, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(user.getVersion())) {
+            throw new PreconditionFailedException("User " + user.getId() + " has changed, ETag does not match");
+        }
+    }
+
+    // Entity <-> DTO mapping shared by every operation (and measured by the JMH benchmarks).
+    // The entity only ever receives the password hash
+    public static User toEntity(UserRegisterDTO dto, String passwordHash, User user) {
+        user.setName(dto.getName());
+        user.setAge(dto.getAge());
+        user.setEmail(dto.getEmail());
+        user.setPhoneNo(dto.getPhoneNo());
+        user.setPassword(passwordHash);
+        return user;
+    }
+
+    public static UserResponseDTO toResponse(User user) {
+        return new UserResponseDTO(user.getName(), user.getEmail(), user.getPhoneNo(), user.getId(), user.getVersion());
     }
 
     
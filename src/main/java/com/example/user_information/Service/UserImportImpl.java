@@ -0,0 +1,327 @@
+package com.example.user_information.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.example.user_information.ApiResponse;
+import com.example.user_information.Common.Csv;
+import com.example.user_information.Common.ImportStatus;
+import com.example.user_information.Common.Status;
+import com.example.user_information.Config.ReplicaRoutingDataSource;
+import com.example.user_information.DTO.ImportJobDTO;
+import com.example.user_information.DTO.RejectedRowDTO;
+import com.example.user_information.DTO.UserBatchResultDTO;
+import com.example.user_information.DTO.UserRegisterDTO;
+import com.example.user_information.Exception.ResourceNotFoundException;
+import com.example.user_information.Exception.ServiceUnavailableException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.extern.slf4j.Slf4j;
+
+/*
+ * Streaming bulk import of CSV or NDJSON user files.
+ *
+ * The upload is copied to a temporary file (never held in memory) and processed line by line on the
+ * application task executor. Records are collected into chunks and handed to UserService.addUsers, so
+ * every chunk gets the same Bean Validation and duplicate checks as POST /user/batch and commits in its
+ * own transaction. Progress and rejected rows are kept per job and can be polled. A chunk that finds the
+ * password hashing pool saturated is retried after the Retry-After the pool suggests (growing with every
+ * attempt); after max-attempts its rows are rejected and the import goes on with the next chunk.
+ * The worker runs on the primary: the duplicate checks must see the chunks it has just committed.
+ */
+@Slf4j
+@Service
+public class UserImportImpl implements UserImportService {
+
+    private static final List<String> CSV_COLUMNS = List.of("name", "email", "age", "password", "phoneno");
+
+    private final UserService userService;
+    private final ObjectMapper objectMapper;
+    private final TaskExecutor taskExecutor;
+    private final int chunkSize;
+    private final int maxAttempts;
+    private final int maxReportedRejections;
+    private final Duration jobRetention;
+
+    private final Map<String, ImportJob> jobs = new ConcurrentHashMap<>();
+
+    public UserImportImpl(UserService userService,
+                          ObjectMapper objectMapper,
+                          @Qualifier("applicationTaskExecutor") TaskExecutor taskExecutor,
+                          @Value("${user.import.chunk-size:1000}") int chunkSize,
+                          @Value("${user.batch.max-size:1000}") int maxBatchSize,
+                          @Value("${user.import.max-attempts:5}") int maxAttempts,
+                          @Value("${user.import.max-reported-rejections:1000}") int maxReportedRejections,
+                          @Value("${user.import.job-retention:1h}") Duration jobRetention) {
+        // Every chunk goes through addUsers, which rejects batches above user.batch.max-size
+        if (chunkSize < 1 || chunkSize > maxBatchSize) {
+            throw new IllegalArgumentException("user.import.chunk-size must be between 1 and user.batch.max-size ("
+                    + maxBatchSize + ") but was " + chunkSize);
+        }
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("user.import.max-attempts must be at least 1 but was " + maxAttempts);
+        }
+        this.userService = userService;
+        this.objectMapper = objectMapper;
+        this.taskExecutor = taskExecutor;
+        this.chunkSize = chunkSize;
+        this.maxAttempts = maxAttempts;
+        this.maxReportedRejections = maxReportedRejections;
+        this.jobRetention = jobRetention;
+    }
+
+    @Override
+    public ImportJobDTO startImport(MultipartFile file) {
+
+        if (file == null || file.isEmpty()) {
+            throw new IllegalArgumentException("Import file is required");
+        }
+        boolean csv = isCsv(file);
+
+        Path upload;
+        try (InputStream in = file.getInputStream()) {
+            upload = Files.createTempFile("user-import-", csv ? ".csv" : ".ndjson");
+            Files.copy(in, upload, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not store import file", ex);
+        }
+
+        pruneFinishedJobs();
+        ImportJob job = new ImportJob(UUID.randomUUID().toString());
+        jobs.put(job.id, job);
+        log.info("User import {} started: {} ({} bytes)", job.id, csv ? "CSV" : "NDJSON", file.getSize());
+
+        taskExecutor.execute(() -> ReplicaRoutingDataSource.onPrimary(() -> run(job, upload, csv)));
+        return job.toDto();
+    }
+
+    @Override
+    public ImportJobDTO getImportJob(String jobId) {
+        ImportJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new ResourceNotFoundException("Import job not found with Id " + jobId);
+        }
+        return job.toDto();
+    }
+
+    private void run(ImportJob job, Path upload, boolean csv) {
+        try (BufferedReader reader = Files.newBufferedReader(upload, StandardCharsets.UTF_8)) {
+            List<UserRegisterDTO> chunk = new ArrayList<>(chunkSize);
+            List<Long> lines = new ArrayList<>(chunkSize);
+            Map<String, Integer> columns = null;
+            long lineNo = 0;
+            String line;
+
+            while ((line = reader.readLine()) != null) {
+                lineNo++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                if (csv && columns == null) {
+                    columns = csvHeader(line);
+                    continue;
+                }
+                try {
+                    chunk.add(csv ? fromCsv(line, columns) : objectMapper.readValue(line, UserRegisterDTO.class));
+                    lines.add(lineNo);
+                } catch (IllegalArgumentException | JsonProcessingException ex) {
+                    String reason = ex instanceof JsonProcessingException json ? json.getOriginalMessage() : ex.getMessage();
+                    job.reject(lineNo, List.of("Malformed record: " + reason), maxReportedRejections);
+                }
+                if (chunk.size() == chunkSize) {
+                    flush(job, chunk, lines);
+                }
+            }
+            flush(job, chunk, lines);
+            job.finish(ImportStatus.COMPLETED, null);
+            log.info("User import {} completed: {} imported, {} rejected", job.id, job.imported.get(), job.rejected.get());
+        } catch (Exception ex) {
+            if (ex instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            log.error("User import {} failed", job.id, ex);
+            job.finish(ImportStatus.FAILED, ex.getMessage());
+        } finally {
+            try {
+                Files.deleteIfExists(upload);
+            } catch (IOException ex) {
+                log.warn("Could not delete import file {}", upload);
+            }
+        }
+    }
+
+    // One transaction per chunk: registers the valid records and reports the rest by file line
+    private void flush(ImportJob job, List<UserRegisterDTO> chunk, List<Long> lines) throws InterruptedException {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        try {
+            record(job, addUsers(job, chunk).getData(), lines);
+        } catch (DataIntegrityViolationException ex) {
+            // A concurrent registration took one of the values between the duplicate check and the commit:
+            // the chunk rolled back, so import it row by row and reject only the conflicting rows
+            for (int i = 0; i < chunk.size(); i++) {
+                flushRow(job, chunk.get(i), lines.get(i));
+            }
+        } catch (ServiceUnavailableException ex) {
+            rejectAll(job, lines, "Chunk not imported: password hashing stayed saturated");
+        }
+        chunk.clear();
+        lines.clear();
+    }
+
+    private void flushRow(ImportJob job, UserRegisterDTO row, Long line) throws InterruptedException {
+        try {
+            record(job, addUsers(job, List.of(row)).getData(), List.of(line));
+        } catch (DataIntegrityViolationException ex) {
+            job.reject(line, List.of("Email or phone number registered concurrently"), maxReportedRejections);
+        } catch (ServiceUnavailableException ex) {
+            job.reject(line, List.of("Row not imported: password hashing stayed saturated"), maxReportedRejections);
+        }
+    }
+
+    private void record(ImportJob job, List<UserBatchResultDTO> results, List<Long> lines) {
+        for (UserBatchResultDTO result : results) {
+            if (result.getStatus() == Status.SUCCESS) {
+                job.imported.incrementAndGet();
+            } else {
+                job.reject(lines.get(result.getIndex()), result.getErrors(), maxReportedRejections);
+            }
+        }
+    }
+
+    // Saturated hashing is transient: nothing of the chunk was written, wait and hash it again
+    private ApiResponse<List<UserBatchResultDTO>> addUsers(ImportJob job, List<UserRegisterDTO> chunk)
+            throws InterruptedException {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return userService.addUsers(chunk);
+            } catch (ServiceUnavailableException ex) {
+                if (attempt >= maxAttempts) {
+                    log.warn("User import {}: chunk rejected after {} attempts, password hashing saturated",
+                            job.id, attempt);
+                    throw ex;
+                }
+                log.debug("User import {}: password hashing saturated, retrying chunk in {}s", job.id,
+                        ex.getRetryAfterSeconds() * attempt);
+                Thread.sleep(TimeUnit.SECONDS.toMillis(ex.getRetryAfterSeconds() * attempt));
+            }
+        }
+    }
+
+    private void rejectAll(ImportJob job, List<Long> lines, String reason) {
+        for (Long line : lines) {
+            job.reject(line, List.of(reason), maxReportedRejections);
+        }
+    }
+
+    private static Map<String, Integer> csvHeader(String line) {
+        Map<String, Integer> columns = new HashMap<>();
+        List<String> names = Csv.split(line);
+        for (int i = 0; i < names.size(); i++) {
+            columns.put(names.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        if (!columns.keySet().containsAll(CSV_COLUMNS)) {
+            throw new IllegalArgumentException("CSV header must contain name,email,age,password,phoneNo");
+        }
+        return columns;
+    }
+
+    private static UserRegisterDTO fromCsv(String line, Map<String, Integer> columns) {
+        List<String> fields = Csv.split(line);
+        String age = field(fields, columns.get("age"));
+        Integer parsedAge = null;
+        if (age != null && !age.isBlank()) {
+            try {
+                parsedAge = Integer.valueOf(age.trim());
+            } catch (NumberFormatException ex) {
+                throw new IllegalArgumentException("Age must be a number");
+            }
+        }
+        return new UserRegisterDTO(
+                field(fields, columns.get("name")),
+                field(fields, columns.get("email")),
+                parsedAge,
+                field(fields, columns.get("password")),
+                field(fields, columns.get("phoneno")));
+    }
+
+    private static String field(List<String> fields, int index) {
+        return index < fields.size() ? fields.get(index) : null;
+    }
+
+    private static boolean isCsv(MultipartFile file) {
+        String name = file.getOriginalFilename();
+        String type = file.getContentType();
+        return (name != null && name.toLowerCase(Locale.ROOT).endsWith(".csv"))
+                || (type != null && type.toLowerCase(Locale.ROOT).startsWith("text/csv"));
+    }
+
+    private void pruneFinishedJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(jobRetention);
+        jobs.values().removeIf(job -> job.finishedAt != null && job.finishedAt.isBefore(cutoff));
+    }
+
+    // Written by the single worker thread, read by pollers
+    private static final class ImportJob {
+
+        private final String id;
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private final AtomicLong imported = new AtomicLong();
+        private final AtomicLong rejected = new AtomicLong();
+        private final Queue<RejectedRowDTO> rejectedRows = new ConcurrentLinkedQueue<>();
+        private volatile ImportStatus status = ImportStatus.RUNNING;
+        private volatile String error;
+        private volatile LocalDateTime finishedAt;
+
+        private ImportJob(String id) {
+            this.id = id;
+        }
+
+        private void reject(long line, List<String> errors, int maxReported) {
+            if (rejected.incrementAndGet() <= maxReported) {
+                rejectedRows.add(new RejectedRowDTO(line, errors));
+            }
+        }
+
+        private void finish(ImportStatus finalStatus, String failure) {
+            error = failure;
+            finishedAt = LocalDateTime.now();
+            status = finalStatus;
+        }
+
+        private ImportJobDTO toDto() {
+            long ok = imported.get();
+            long bad = rejected.get();
+            return new ImportJobDTO(id, status, ok + bad, ok, bad, new ArrayList<>(rejectedRows), error,
+                    startedAt, finishedAt);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.user_information.Service;
+
+import org.springframework.web.multipart.MultipartFile;
+
+import com.example.user_information.DTO.ImportJobDTO;
+
+public interface UserImportService {
+
+    ImportJobDTO startImport(MultipartFile file);
+
+    ImportJobDTO getImportJob(String jobId);
+
+}
@@ -0,0 +1,216 @@
+package com.example.user_information.Service;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import com.example.user_information.Common.TrigramIndex;
+import com.example.user_information.DTO.SearchIndexStatsDTO;
+import com.example.user_information.Repository.UserRepo;
+
+import lombok.extern.slf4j.Slf4j;
+
+/*
+ * In-memory trigram index over user names and emails for GET /user/search.
+ *
+ * Built by streaming the table once the application is ready and kept current by the UserService write
+ * paths. Searches share a read lock, writes take the write lock for the few microseconds of an update.
+ * When the estimated size passes user.search.max-memory the index is dropped rather than let it grow the
+ * heap: search() answers null until the next successful rebuild and the caller falls back to the database.
+ */
+@Slf4j
+@Component
+public class UserSearchIndex {
+
+    private static final int BUILD_CHUNK = 1000;
+
+    private final UserRepo userRepo;
+    private final TransactionTemplate readOnlyTx;
+    private final long maxBytes;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private TrigramIndex current;           // -> guarded by lock, null until built or after passing the cap
+    private TrigramIndex rebuilding;        // -> receives writes made while a rebuild is streaming the table
+    private Set<Long> writtenDuringRebuild; // -> newer than the streamed rows, which must not overwrite them
+    private volatile boolean overCapacity;
+
+    private final LongAdder searches = new LongAdder();
+    private final LongAdder fallbacks = new LongAdder();
+
+    public UserSearchIndex(UserRepo userRepo,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${user.search.max-memory:256MB}") DataSize maxMemory) {
+        this.userRepo = userRepo;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.maxBytes = maxMemory.toBytes();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        rebuild();
+    }
+
+    public void rebuild() {
+        rebuildLock.lock();
+        try {
+            TrigramIndex fresh = new TrigramIndex();
+            lock.writeLock().lock();
+            try {
+                rebuilding = fresh;
+                writtenDuringRebuild = new HashSet<>();
+            } finally {
+                lock.writeLock().unlock();
+            }
+            long started = System.currentTimeMillis();
+            boolean fits = readOnlyTx.execute(status -> {
+                try (Stream<UserRepo.SearchView> users = userRepo.streamSearchFields()) {
+                    List<UserRepo.SearchView> chunk = new ArrayList<>(BUILD_CHUNK);
+                    for (UserRepo.SearchView user : (Iterable<UserRepo.SearchView>) users::iterator) {
+                        chunk.add(user);
+                        if (chunk.size() == BUILD_CHUNK) {
+                            if (!addStreamed(fresh, chunk)) {
+                                return false;
+                            }
+                            chunk.clear();
+                        }
+                    }
+                    return addStreamed(fresh, chunk);
+                }
+            });
+            lock.writeLock().lock();
+            try {
+                current = fits ? fresh : null;
+                overCapacity = !fits;
+            } finally {
+                rebuilding = null;
+                writtenDuringRebuild = null;
+                lock.writeLock().unlock();
+            }
+            if (fits) {
+                log.info("Search index built with {} users, ~{} KB in {} ms", fresh.size(),
+                        fresh.estimatedBytes() / 1024, System.currentTimeMillis() - started);
+            } else {
+                log.warn("Search index exceeds user.search.max-memory ({} bytes), searches use the database", maxBytes);
+            }
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    // Up to limit matches, or null when the index is not available
+    public List<TrigramIndex.Hit> search(String query, int limit) {
+        searches.increment();
+        lock.readLock().lock();
+        try {
+            if (current != null) {
+                return current.search(query, limit);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        fallbacks.increment();
+        return null;
+    }
+
+    // Ignores users without an id, which were never persisted
+    public void put(Long id, String name, String email) {
+        if (id == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (current != null) {
+                current.put(id, name, email);
+                checkCapacity();
+            }
+            if (rebuilding != null) {
+                rebuilding.put(id, name, email);
+                writtenDuringRebuild.add(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Iterable<Long> ids) {
+        lock.writeLock().lock();
+        try {
+            for (Long id : ids) {
+                if (current != null) {
+                    current.remove(id);
+                }
+                if (rebuilding != null) {
+                    rebuilding.remove(id);
+                    writtenDuringRebuild.add(id);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public long estimatedBytes() {
+        lock.readLock().lock();
+        try {
+            return current == null ? 0 : current.estimatedBytes();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public SearchIndexStatsDTO stats() {
+        lock.readLock().lock();
+        try {
+            return new SearchIndexStatsDTO(
+                    current != null,
+                    overCapacity,
+                    current == null ? 0 : current.size(),
+                    current == null ? 0 : current.trigrams(),
+                    current == null ? 0 : current.estimatedBytes(),
+                    maxBytes,
+                    searches.sum(),
+                    fallbacks.sum()
+            );
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private boolean addStreamed(TrigramIndex fresh, List<UserRepo.SearchView> chunk) {
+        lock.writeLock().lock();
+        try {
+            for (UserRepo.SearchView user : chunk) {
+                if (!writtenDuringRebuild.contains(user.getId())) {
+                    fresh.put(user.getId(), user.getName(), user.getEmail());
+                }
+            }
+            return fresh.estimatedBytes() <= maxBytes;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Caller holds the write lock
+    private void checkCapacity() {
+        if (current.estimatedBytes() > maxBytes) {
+            current = null;
+            overCapacity = true;
+            log.warn("Search index exceeds user.search.max-memory ({} bytes), searches use the database", maxBytes);
+        }
+    }
+}
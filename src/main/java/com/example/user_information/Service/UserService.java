@@ -1,13 +1,24 @@
 package com.example.user_information.Service;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
 import org.springframework.data.domain.Page;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
 
 import com.example.user_information.ApiResponse;
+import com.example.user_information.Common.ExportFormat;
+import com.example.user_information.DTO.CursorPageDTO;
+import com.example.user_information.DTO.UserBatchResultDTO;
+import com.example.user_information.DTO.UserDeleteResultDTO;
+import com.example.user_information.DTO.UserLookupDTO;
+import com.example.user_information.DTO.UserPatchDTO;
 import com.example.user_information.DTO.UserRegisterDTO;
 import com.example.user_information.DTO.UserResponseDTO;
+import com.example.user_information.DTO.UserSearchHitDTO;
 
 import jakarta.servlet.http.HttpServletRequest;
 
@@ -15,12 +26,34 @@ public interface UserService {
 
     ApiResponse<UserResponseDTO> addUser(UserRegisterDTO dto);
 
-    Page<UserResponseDTO> getUsers(Pageable pageable);
+    ApiResponse<List<UserBatchResultDTO>> addUsers(List<UserRegisterDTO> dtos);
+
+    // exactCount false takes the total from UserCounter instead of a COUNT(*)
+    Page<UserResponseDTO> getUsers(Pageable pageable, boolean exactCount);
+
+    CursorPageDTO<UserResponseDTO> getUsersAfter(String cursor, int size, String sortBy, String direction);
 
     UserResponseDTO getUserById(Long id);
 
-    UserResponseDTO updateUser(Long id, UserRegisterDTO dto);
+    // Ids are de-duplicated, the result keeps the order they were given in and lists the ones not found
+    UserLookupDTO getUsersByIds(List<Long> ids);
+
+    // Case-insensitive substring match on name or email, prefix matches first
+    List<UserSearchHitDTO> searchUsers(String query, int limit);
+
+    void exportUsers(OutputStream out, ExportFormat format) throws IOException;
+
+    // expectedVersion comes from If-Match, null when the request is unconditional
+    UserResponseDTO updateUser(Long id, UserRegisterDTO dto, Long expectedVersion);
+
+    // Only the non-null fields of the patch are written; concurrent writers are retried optimistically
+    UserResponseDTO patchUser(Long id, UserPatchDTO dto, Long expectedVersion);
+
+    void deleteUserById(Long id, Long expectedVersion);
+
+    // Bulk deletes run set-based DELETE statements in chunks, no entity is loaded
+    UserDeleteResultDTO deleteUsersByIds(List<Long> ids);
 
-    void deleteUserById(Long id);
+    UserDeleteResultDTO deleteUsersByAge(int minAge, int maxAge);
 
 }
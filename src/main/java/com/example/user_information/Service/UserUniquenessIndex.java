@@ -0,0 +1,154 @@
+package com.example.user_information.Service;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.user_information.Common.BloomFilter;
+import com.example.user_information.DTO.UniquenessIndexStatsDTO;
+import com.example.user_information.Repository.UserRepo;
+
+import lombok.extern.slf4j.Slf4j;
+
+/*
+ * In-memory Bloom filters over registered emails and phone numbers.
+ *
+ * A "definitely absent" answer lets registration skip the existsBy* queries; "maybe present" falls through
+ * to the database. Until the startup build has finished every lookup answers "maybe present".
+ * Deleted users stay in the filters (Bloom filters cannot remove entries) and only cost a DB check,
+ * a rebuild drops them. Emails are kept lower-cased: the unique key compares them case-insensitively.
+ */
+@Slf4j
+@Component
+public class UserUniquenessIndex {
+
+    private record Filters(BloomFilter emails, BloomFilter phoneNos) { }
+
+    private final UserRepo userRepo;
+    private final TransactionTemplate readOnlyTx;
+    private final long expectedInsertions;
+    private final double falsePositiveRate;
+
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private volatile Filters current;
+    private volatile Filters rebuilding;    // -> receives writes made while a rebuild is streaming the table
+
+    private final LongAdder lookups = new LongAdder();
+    private final LongAdder definitelyAbsent = new LongAdder();
+    private final LongAdder falsePositives = new LongAdder();
+
+    public UserUniquenessIndex(UserRepo userRepo,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${user.uniqueness-index.expected-insertions:1000000}") long expectedInsertions,
+                               @Value("${user.uniqueness-index.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.userRepo = userRepo;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        rebuild();
+    }
+
+    public void rebuild() {
+        rebuildLock.lock();
+        try {
+            Filters fresh = new Filters(new BloomFilter(expectedInsertions, falsePositiveRate),
+                    new BloomFilter(expectedInsertions, falsePositiveRate));
+            rebuilding = fresh;
+            long started = System.currentTimeMillis();
+            readOnlyTx.executeWithoutResult(status -> {
+                try (Stream<UserRepo.ContactView> contacts = userRepo.streamContacts()) {
+                    contacts.forEach(contact -> put(fresh, contact.getEmail(), contact.getPhoneNo()));
+                }
+            });
+            current = fresh;
+            lookups.reset();
+            definitelyAbsent.reset();
+            falsePositives.reset();
+            log.info("Uniqueness index built with {} users in {} ms",
+                    fresh.emails().insertions(), System.currentTimeMillis() - started);
+        } finally {
+            rebuilding = null;
+            rebuildLock.unlock();
+        }
+    }
+
+    public boolean mightContainEmail(String email) {
+        Filters filters = current;
+        return lookup(filters == null || email == null || filters.emails().mightContain(normalizeEmail(email)));
+    }
+
+    public boolean mightContainPhoneNo(String phoneNo) {
+        Filters filters = current;
+        return lookup(filters == null || phoneNo == null || filters.phoneNos().mightContain(phoneNo));
+    }
+
+    // Called when a "maybe present" answer turned out to be absent in the database
+    public void recordFalsePositive() {
+        if (current != null) {
+            falsePositives.increment();
+        }
+    }
+
+    // rebuilding is read before current: a rebuild publishes current before it clears rebuilding, so a write
+    // that misses the rebuilding filters still finds the fresh ones in current
+    public void add(String email, String phoneNo) {
+        Filters next = rebuilding;
+        if (next != null) {
+            put(next, email, phoneNo);
+        }
+        Filters filters = current;
+        if (filters != null && filters != next) {
+            put(filters, email, phoneNo);
+        }
+    }
+
+    public UniquenessIndexStatsDTO stats() {
+        Filters filters = current;
+        long absent = definitelyAbsent.sum();
+        long fp = falsePositives.sum();
+        return new UniquenessIndexStatsDTO(
+                filters != null,
+                filters == null ? 0 : filters.emails().insertions(),
+                filters == null ? 0 : filters.emails().bitCount() + filters.phoneNos().bitCount(),
+                lookups.sum(),
+                absent,
+                fp,
+                absent + fp == 0 ? 0 : (double) fp / (absent + fp),
+                filters == null ? 1 : filters.emails().expectedFalsePositiveRate()
+        );
+    }
+
+    private boolean lookup(boolean maybePresent) {
+        lookups.increment();
+        if (!maybePresent) {
+            definitelyAbsent.increment();
+        }
+        return maybePresent;
+    }
+
+    private static String normalizeEmail(String email) {
+        return email.toLowerCase(Locale.ROOT);
+    }
+
+    private static void put(Filters filters, String email, String phoneNo) {
+        if (email != null) {
+            filters.emails().put(normalizeEmail(email));
+        }
+        if (phoneNo != null) {
+            filters.phoneNos().put(phoneNo);
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package com.example.user_information;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.util.ClassUtils;
+
+import com.example.user_information_reactive.ReactiveUserApplication;
+import com.example.user_information_reactive.Repository.ReactiveUserRepo;
+
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Statement;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/*
+ * The servlet stack (Tomcat + JPA on platform threads) and the reactive one (Netty + R2DBC) under the same
+ * load, for the cores each needs at a given concurrency.
+ *
+ * Opt-in, needs the reactive profile:
+ *   mvn -Preactive test -Dtest=StackComparisonLoadTest -Dloadtest=true
+ * Same tunables and request mix as RequestExecutionLoadTest; every database statement is delayed by
+ * db-latency-ms on both stacks (a sleeping JDBC thread, a timer on R2DBC). The servlet cache is off so both
+ * read every user from the database, rate limiting and admission control are off on both.
+ *
+ * "server cores" is the CPU time of the application's threads over the run divided by its duration: client
+ * threads (virtual-thread carriers, the HttpClient selector) are left out, so is GC, which "process cores"
+ * includes along with the clients. The table goes to target/load-tests/StackComparisonLoadTest.txt.
+ */
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+public class StackComparisonLoadTest {
+
+    private static final int POOL_SIZE = 10;
+
+    @Test
+    void compareStacks() throws Exception {
+        Result servlet = run("servlet", servlet(), RequestExecutionLoadTest::seed);
+        Result reactive = run("reactive", reactive(), context -> seedReactive(context.getBean(ReactiveUserRepo.class)));
+
+        new LoadTestReport()
+                .line("%d clients, %d s, %d ms per statement, %d database connections",
+                        RequestExecutionLoadTest.CLIENTS, RequestExecutionLoadTest.SECONDS,
+                        RequestExecutionLoadTest.DB_LATENCY_MS, POOL_SIZE)
+                .line("%s %13s %14s %13s", RequestExecutionLoadTest.Result.HEADER,
+                        "server cores", "process cores", "cpu us/req")
+                .line("%s", servlet)
+                .line("%s", reactive)
+                .write(getClass());
+
+        assertEquals(0, servlet.load.errors, "servlet stack had failed requests");
+        assertEquals(0, reactive.load.errors, "reactive stack had failed requests");
+    }
+
+    private static ConfigurableApplicationContext servlet() {
+        return new SpringApplicationBuilder(JUnitApplication.class)
+                .profiles("test")
+                .initializers(ctx -> ctx.getBeanFactory().addBeanPostProcessor(
+                        new RequestExecutionLoadTest.LatencyPostProcessor()))
+                .run("--server.port=0",
+                        "--spring.threads.virtual.enabled=false",
+                        "--spring.datasource.url=jdbc:h2:mem:stack_servlet;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.hikari.maximum-pool-size=" + POOL_SIZE,
+                        "--spring.jpa.show-sql=false",
+                        "--spring.cache.type=none",
+                        "--logging.level.org.springframework.web=INFO",
+                        "--user.rate-limit.enabled=false",
+                        "--user.admission.enabled=false");
+    }
+
+    private static ConfigurableApplicationContext reactive() {
+        return ReactiveUserApplication.builder()
+                .initializers(ctx -> ctx.getBeanFactory().addBeanPostProcessor(new R2dbcLatencyPostProcessor()))
+                .run("--server.port=0",
+                        "--spring.r2dbc.url=r2dbc:h2:mem:///stack_reactive;DB_CLOSE_DELAY=-1",
+                        "--spring.r2dbc.username=sa",
+                        "--spring.r2dbc.password=",
+                        "--spring.r2dbc.pool.max-size=" + POOL_SIZE);
+    }
+
+    private static Result run(String stack, ConfigurableApplicationContext context,
+                              Function<ConfigurableApplicationContext, List<Long>> seed) throws Exception {
+        try (context) {
+            List<Long> ids = seed.apply(context);
+            String base = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+
+            RequestExecutionLoadTest.load(base, ids, Duration.ofSeconds(5));
+
+            ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+            com.sun.management.OperatingSystemMXBean os =
+                    (com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean();
+            Map<Long, Long> before = serverThreadCpu(threads);
+            long processBefore = os.getProcessCpuTime();
+            long start = System.nanoTime();
+
+            RequestExecutionLoadTest.Result load = RequestExecutionLoadTest.load(base, ids,
+                    Duration.ofSeconds(RequestExecutionLoadTest.SECONDS));
+            load.mode = stack;
+
+            long wall = System.nanoTime() - start;
+            long processCpu = os.getProcessCpuTime() - processBefore;
+            long serverCpu = 0;
+            for (Map.Entry<Long, Long> thread : serverThreadCpu(threads).entrySet()) {
+                serverCpu += thread.getValue() - before.getOrDefault(thread.getKey(), 0L);
+            }
+            return new Result(load, serverCpu / (double) wall, processCpu / (double) wall,
+                    load.requests == 0 ? 0 : serverCpu / 1_000.0 / load.requests);
+        }
+    }
+
+    private static List<Long> seedReactive(ReactiveUserRepo userRepo) {
+        List<com.example.user_information_reactive.Entity.User> users = new ArrayList<>();
+        for (int i = 0; i < RequestExecutionLoadTest.USERS; i++) {
+            com.example.user_information_reactive.Entity.User user = new com.example.user_information_reactive.Entity.User();
+            user.setId(i + 1L);
+            user.setName("User " + i);
+            user.setAge(30);
+            user.setEmail("load" + i + "@example.com");
+            user.setPhoneNo(String.valueOf(6_000_000_000L + i));
+            user.setPassword("Pass@1234");
+            users.add(user);
+        }
+        return userRepo.saveAll(users).map(com.example.user_information_reactive.Entity.User::getId).collectList().block();
+    }
+
+    // CPU time per live thread, without the load generator's threads
+    private static Map<Long, Long> serverThreadCpu(ThreadMXBean threads) {
+        Map<Long, Long> cpu = new HashMap<>();
+        for (ThreadInfo info : threads.dumpAllThreads(false, false)) {
+            String name = info.getThreadName();
+            if (name.startsWith("ForkJoinPool-") || name.startsWith("HttpClient-")
+                    || info.getThreadId() == Thread.currentThread().threadId()) {
+                continue;
+            }
+            long time = threads.getThreadCpuTime(info.getThreadId());
+            if (time >= 0) {
+                cpu.put(info.getThreadId(), time);
+            }
+        }
+        return cpu;
+    }
+
+    private record Result(RequestExecutionLoadTest.Result load, double serverCores, double processCores,
+                          double cpuMicrosPerRequest) {
+
+        @Override
+        public String toString() {
+            return load + String.format(" %13.2f %14.2f %13.1f", serverCores, processCores, cpuMicrosPerRequest);
+        }
+    }
+
+    // Delays every statement's results by the simulated round trip, without holding a thread meanwhile
+    private static final class R2dbcLatencyPostProcessor implements BeanPostProcessor {
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (bean instanceof ConnectionFactory factory && !Proxy.isProxyClass(bean.getClass())) {
+                return proxy(factory, (method, result) -> method.equals("create")
+                        ? Mono.from((Publisher<?>) result)
+                                .map(connection -> proxy(connection, R2dbcLatencyPostProcessor::wrapConnection))
+                        : result);
+            }
+            return bean;
+        }
+
+        private static Object wrapConnection(String method, Object result) {
+            return result instanceof Statement statement ? proxy(statement, (name, value) -> name.equals("execute")
+                    ? Flux.from((Publisher<?>) value)
+                            .delaySubscription(Duration.ofMillis(RequestExecutionLoadTest.DB_LATENCY_MS))
+                    : value) : result;
+        }
+
+        // A proxy with every interface of the target; results that are the target itself (fluent
+        // Statement.bind) become the proxy
+        @SuppressWarnings("unchecked")
+        private static <T> T proxy(T target, BiFunction<String, Object, Object> wrapResult) {
+            Class<?>[] interfaces = ClassUtils.getAllInterfaces(target);
+            Object[] self = new Object[1];
+            self[0] = Proxy.newProxyInstance(target.getClass().getClassLoader(), interfaces, (proxy, method, args) -> {
+                Object result;
+                try {
+                    result = method.invoke(target, args);
+                } catch (InvocationTargetException ex) {
+                    throw ex.getTargetException();
+                }
+                return result == target ? self[0] : wrapResult.apply(method.getName(), result);
+            });
+            return (T) self[0];
+        }
+    }
+}
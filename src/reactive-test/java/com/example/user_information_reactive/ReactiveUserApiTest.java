@@ -0,0 +1,177 @@
+package com.example.user_information_reactive;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import com.example.user_information.DTO.UserRegisterDTO;
+import com.example.user_information_reactive.Entity.User;
+import com.example.user_information_reactive.Repository.ReactiveUserRepo;
+
+import reactor.core.publisher.Flux;
+
+// The reactive /user API end to end on R2DBC H2: responses must match the servlet application's contract
+@SpringBootTest(classes = ReactiveUserApplication.class, properties = {
+        ReactiveUserApplication.CONFIG_NAME,
+        "spring.main.web-application-type=reactive",
+        "spring.r2dbc.url=r2dbc:h2:mem:///reactive_api;DB_CLOSE_DELAY=-1",
+        "spring.r2dbc.username=sa",
+        "spring.r2dbc.password=",
+        "user.password.hash.strength=4",
+        "user.count.max-age=0s",
+        "user.export.chunk-size=16"
+})
+@AutoConfigureWebTestClient
+public class ReactiveUserApiTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private ReactiveUserRepo userRepo;
+
+    @BeforeEach
+    void setUp() {
+        userRepo.deleteAll().block();
+    }
+
+    private static UserRegisterDTO user(int i) {
+        return new UserRegisterDTO("User " + i, "user" + i + "@example.com", 30, "Pass@1234",
+                String.valueOf(9_000_000_000L + i));
+    }
+
+    private User register(int i) {
+        webTestClient.post().uri("/user").bodyValue(user(i)).exchange().expectStatus().isCreated();
+        return userRepo.findAll().filter(u -> u.getEmail().equals(user(i).getEmail())).blockFirst();
+    }
+
+    @Test
+    void registersWithAllocatedIdsAndRejectsDuplicates() {
+        webTestClient.post().uri("/user").bodyValue(user(1)).exchange()
+                .expectStatus().isCreated()
+                .expectBody()
+                .jsonPath("$.code").isEqualTo(201)
+                .jsonPath("$.status").isEqualTo("SUCCESS")
+                .jsonPath("$.data.email").isEqualTo("user1@example.com")
+                .jsonPath("$.data.password").doesNotExist()
+                .jsonPath("$.path").isEqualTo("/user");
+        User second = register(2);
+        User first = userRepo.findAll().filter(u -> u.getEmail().equals("user1@example.com")).blockFirst();
+        assertNotEquals(first.getId(), second.getId());
+        assertEquals(0L, first.getVersion());
+        assertTrue(first.getPassword().startsWith("$2"), "password is stored as a BCrypt hash");
+
+        UserRegisterDTO duplicate = user(3);
+        duplicate.setEmail("user1@example.com");
+        webTestClient.post().uri("/user").bodyValue(duplicate).exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Business validation failed")
+                .jsonPath("$.data[0]").isEqualTo("Email already registered");
+
+        UserRegisterDTO invalid = user(4);
+        invalid.setPassword("short");
+        webTestClient.post().uri("/user").bodyValue(invalid).exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Validation failed");
+    }
+
+    @Test
+    void pagesWithEtagsAndRejectsUnknownSortKeys() {
+        for (int i = 0; i < 5; i++) {
+            register(i);
+        }
+        String etag = webTestClient.get().uri("/user?page=1&size=2&sortBy=name&direction=desc&count=exact").exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.data.totalElements").isEqualTo(5)
+                .jsonPath("$.data.totalPages").isEqualTo(3)
+                .jsonPath("$.data.content[0].name").isEqualTo("User 2")
+                .returnResult().getResponseHeaders().getETag();
+
+        webTestClient.get().uri("/user?page=1&size=2&sortBy=name&direction=desc&count=exact")
+                .header(HttpHeaders.IF_NONE_MATCH, etag).exchange()
+                .expectStatus().isNotModified();
+
+        webTestClient.get().uri("/user?sortBy=password").exchange().expectStatus().isBadRequest();
+        webTestClient.get().uri("/user?count=roughly").exchange().expectStatus().isBadRequest();
+    }
+
+    @Test
+    void conditionalUpdatePatchAndDelete() {
+        User user = register(1);
+        String etag = "\"" + user.getId() + "." + user.getVersion() + "\"";
+
+        webTestClient.get().uri("/user/{id}", user.getId()).exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, etag)
+                .expectBody().jsonPath("$.name").isEqualTo("User 1");
+
+        UserRegisterDTO update = user(1);
+        update.setName("Renamed");
+        webTestClient.put().uri("/user/{id}", user.getId()).header(HttpHeaders.IF_MATCH, etag).bodyValue(update)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"" + user.getId() + ".1\"");
+
+        // The version has moved on: stale If-Match is a 412 for every write
+        webTestClient.put().uri("/user/{id}", user.getId()).header(HttpHeaders.IF_MATCH, etag).bodyValue(update)
+                .exchange()
+                .expectStatus().isEqualTo(412);
+        webTestClient.patch().uri("/user/{id}", user.getId()).bodyValue("{\"age\":41}")
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.name").isEqualTo("Renamed");
+        assertEquals(41, userRepo.findById(user.getId()).block().getAge());
+
+        webTestClient.delete().uri("/user/{id}", user.getId()).header(HttpHeaders.IF_MATCH, etag).exchange()
+                .expectStatus().isEqualTo(412);
+        webTestClient.delete().uri("/user/{id}", user.getId()).exchange().expectStatus().isNoContent();
+        webTestClient.get().uri("/user/{id}", user.getId()).exchange()
+                .expectStatus().isNotFound()
+                .expectBody().jsonPath("$.message").isEqualTo("Resources Not Found");
+    }
+
+    @Test
+    void exportsEveryUserInChunks() {
+        int users = 100;
+        Flux.range(0, users).map(i -> {
+            User user = new User();
+            user.setId(10_000L + i);
+            user.setName("Export, " + i);
+            user.setAge(30);
+            user.setEmail("export" + i + "@example.com");
+            user.setPhoneNo(String.valueOf(8_000_000_000L + i));
+            user.setPassword("x");
+            return user;
+        }).concatMap(userRepo::save).blockLast();
+
+        List<String> csv = webTestClient.get().uri("/user/export?format=csv").exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType("text/csv")
+                .expectBody(String.class).returnResult().getResponseBody().lines().toList();
+        assertEquals(users + 1, csv.size());
+        assertEquals("name,email,phoneNo", csv.get(0));
+        assertEquals("\"Export, 0\",export0@example.com,8000000000", csv.get(1));
+
+        List<String> ndjson = webTestClient.get().uri("/user/export")
+                .header(HttpHeaders.ACCEPT, "application/x-ndjson").exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class).returnResult().getResponseBody().lines().toList();
+        assertEquals(users, ndjson.size());
+        assertTrue(ndjson.get(users - 1).contains("export99@example.com"));
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.user_information_reactive.Config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.example.user_information.Service.PasswordHasher;
+
+// The servlet application's bounded BCrypt pool (a @Component in a package this application does not scan),
+// with the same user.password.hash.* properties
+@Configuration
+public class PasswordHashingConfig {
+
+    @Bean
+    public PasswordHasher passwordHasher(@Value("${user.password.hash.strength:10}") int strength,
+                                         @Value("${user.password.hash.threads:0}") int threads,
+                                         @Value("${user.password.hash.queue-capacity:64}") int queueCapacity,
+                                         @Value("${user.password.hash.bulk-permits:0}") int bulkPermits,
+                                         @Value("${user.password.hash.timeout:10s}") Duration timeout) {
+        return new PasswordHasher(strength, threads, queueCapacity, bulkPermits, timeout);
+    }
+}
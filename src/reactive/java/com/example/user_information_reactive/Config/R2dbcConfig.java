@@ -0,0 +1,25 @@
+package com.example.user_information_reactive.Config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.r2dbc.convert.R2dbcCustomConversions;
+import org.springframework.data.r2dbc.mapping.R2dbcMappingContext;
+import org.springframework.data.relational.core.mapping.DefaultNamingStrategy;
+import org.springframework.data.relational.core.mapping.NamingStrategy;
+
+// Boot's mapping context with quoted identifiers: the table is named "user", a keyword on H2 (and in standard
+// SQL). The dialects quote it as Hibernate does: `user` on MySQL, "user" with upper-case columns on H2
+@Configuration
+public class R2dbcConfig {
+
+    @Bean
+    public R2dbcMappingContext r2dbcMappingContext(ObjectProvider<NamingStrategy> namingStrategy,
+                                                   R2dbcCustomConversions r2dbcCustomConversions) {
+        R2dbcMappingContext context = new R2dbcMappingContext(
+                namingStrategy.getIfAvailable(() -> DefaultNamingStrategy.INSTANCE));
+        context.setSimpleTypeHolder(r2dbcCustomConversions.getSimpleTypeHolder());
+        context.setForceQuote(true);
+        return context;
+    }
+}
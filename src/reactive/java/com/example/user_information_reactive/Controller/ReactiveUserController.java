@@ -0,0 +1,150 @@
+package com.example.user_information_reactive.Controller;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
+
+import com.example.user_information.ApiResponse;
+import com.example.user_information.Common.ExportFormat;
+import com.example.user_information.Common.Status;
+import com.example.user_information.Common.UserETags;
+import com.example.user_information.DTO.PageDTO;
+import com.example.user_information.DTO.UserPatchDTO;
+import com.example.user_information.DTO.UserRegisterDTO;
+import com.example.user_information.DTO.UserResponseDTO;
+import com.example.user_information_reactive.Service.ReactiveUserService;
+
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/*
+ * The /user contract of UserController on WebFlux: same paths, parameters, status codes, ETags and
+ * ApiResponse bodies. The batch, import, search, by-ids and keyset (?after=) endpoints exist on the servlet
+ * application only.
+ */
+@RestController
+@RequestMapping("/user")
+@RequiredArgsConstructor
+public class ReactiveUserController {
+
+    // Sort keys are mapped to columns by name, anything else is a 400 rather than part of the SQL
+    private static final Set<String> SORT_KEYS = Set.of("id", "name", "email", "age", "phoneNo");
+
+    private final ReactiveUserService userService;
+
+    @PostMapping
+    public Mono<ResponseEntity<ApiResponse<UserResponseDTO>>> addUser(@Valid @RequestBody UserRegisterDTO dto,
+            ServerWebExchange exchange) {
+
+        return userService.addUser(dto).map(response -> {
+            response.setPath(exchange.getRequest().getPath().value());
+            return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        });
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<ApiResponse<PageDTO<UserResponseDTO>>>> getUsers(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "id") String sortBy,
+            @RequestParam(defaultValue = "asc") String direction,
+            @RequestParam(defaultValue = "exact") String count,
+            ServerWebExchange exchange) {
+
+        if (!count.equals("approximate") && !count.equals("exact")) {
+            throw new IllegalArgumentException("count must be exact or approximate");
+        }
+        if (!SORT_KEYS.contains(sortBy)) {
+            throw new IllegalArgumentException("sortBy must be one of " + SORT_KEYS);
+        }
+        Sort sort = direction.equalsIgnoreCase("desc") ? Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
+        Pageable pageable = PageRequest.of(page, size, sort);
+
+        return userService.getUsers(pageable, count.equals("exact")).map(users -> {
+            // Unchanged page: 304 without serializing it
+            String etag = UserETags.of(users);
+            if (etag != null && exchange.checkNotModified(etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
+            ApiResponse<PageDTO<UserResponseDTO>> response = new ApiResponse<>(200, Status.SUCCESS,
+                    "Users fetched successfully", PageDTO.of(users), exchange.getRequest().getPath().value(),
+                    LocalDateTime.now());
+            return ResponseEntity.ok().cacheControl(CacheControl.noCache()).eTag(etag).body(response);
+        });
+    }
+
+    // Streams every user as NDJSON or CSV (Accept header or ?format=), paced by the client
+    @GetMapping("/export")
+    public ResponseEntity<Flux<DataBuffer>> exportUsers(
+            @RequestParam(required = false) String format,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            ServerWebExchange exchange) {
+
+        ExportFormat exportFormat = ExportFormat.resolve(format, accept);
+
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=users." + exportFormat.getExtension())
+                .body(userService.exportUsers(exportFormat, exchange.getResponse().bufferFactory()));
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<UserResponseDTO>> getUserById(@PathVariable Long id, ServerWebExchange exchange) {
+        return userService.getUserById(id).map(dto -> {
+            String etag = UserETags.of(dto);
+            if (etag != null && exchange.checkNotModified(etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
+            return ResponseEntity.ok().cacheControl(CacheControl.noCache()).eTag(etag).body(dto);
+        });
+    }
+
+    // If-Match makes the update conditional on the version the client has seen: 412 when it changed since
+    @PutMapping("/{id}")
+    public Mono<ResponseEntity<UserResponseDTO>> updateUser(@PathVariable Long id,
+            @Valid @RequestBody UserRegisterDTO dto,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+
+        return userService.updateUser(id, dto, UserETags.expectedVersion(ifMatch, id))
+                .map(updated -> ResponseEntity.ok().eTag(UserETags.of(updated)).body(updated));
+    }
+
+    @PatchMapping("/{id}")
+    public Mono<ResponseEntity<UserResponseDTO>> patchUser(@PathVariable Long id,
+            @Valid @RequestBody UserPatchDTO dto,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+
+        return userService.patchUser(id, dto, UserETags.expectedVersion(ifMatch, id))
+                .map(patched -> ResponseEntity.ok().eTag(UserETags.of(patched)).body(patched));
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<Void>> deleteUser(@PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+
+        return userService.deleteUserById(id, UserETags.expectedVersion(ifMatch, id))
+                .then(Mono.fromSupplier(() -> ResponseEntity.noContent().<Void>build()));
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.user_information_reactive.Entity;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.relational.core.mapping.Table;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+// R2DBC mapping of the table the JPA User owns (schema, unique keys and the id_allocation table come from
+// there). The id is assigned before the INSERT (UserIdAllocator), so a null version marks a new row
+@Data
+@NoArgsConstructor
+@Table("user")
+public class User {
+
+	@Id
+	private Long id;
+
+	private String name;
+	private int age;
+	private String email;
+	private String phoneNo;
+	// BCrypt hash, never part of a response
+	@ToString.Exclude
+	private String password;
+
+	// Same column as the JPA @Version: UPDATEs check and bump it, 0 rows updated is an
+	// OptimisticLockingFailureException
+	@Version
+	private Long version;
+
+}
@@ -0,0 +1,156 @@
+package com.example.user_information_reactive.Exception;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.example.user_information.ApiResponse;
+import com.example.user_information.Common.LogRateLimiter;
+import com.example.user_information.Common.Status;
+import com.example.user_information.Entity.User;
+import com.example.user_information.Exception.PreconditionFailedException;
+import com.example.user_information.Exception.ResourceNotFoundException;
+import com.example.user_information.Exception.ServiceUnavailableException;
+
+import lombok.extern.slf4j.Slf4j;
+
+// GlobalExceptionHandler's responses for the reactive controller: same status codes, messages and
+// ApiResponse bodies, with the path taken from the reactive request
+@Slf4j
+@RestControllerAdvice
+public class ReactiveExceptionHandler {
+
+    // At most one client error line per second, with the number of skipped ones
+    private static final LogRateLimiter CLIENT_ERROR_LOG = new LogRateLimiter(Duration.ofSeconds(1));
+
+    private static void logClientError(String message, Object detail, ServerHttpRequest request) {
+        if (CLIENT_ERROR_LOG.tryAcquire()) {
+            log.atWarn().setMessage(message)
+                    .addKeyValue("path", request.getPath().value())
+                    .addKeyValue("detail", detail)
+                    .addKeyValue("suppressed", CLIENT_ERROR_LOG.drainSuppressed())
+                    .log();
+        }
+    }
+
+    private static ResponseEntity<ApiResponse<List<String>>> respond(HttpStatus status, Status outcome,
+            String message, List<String> data, ServerHttpRequest request) {
+        return ResponseEntity.status(status).body(new ApiResponse<>(status.value(), outcome, message, data,
+                request.getPath().value(), LocalDateTime.now()));
+    }
+
+    // @Valid request bodies
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<ApiResponse<List<String>>> handleValidationException(WebExchangeBindException ex,
+            ServerHttpRequest request) {
+
+        List<String> errors = ex.getBindingResult().getAllErrors().stream()
+                .map(err -> err.getDefaultMessage())
+                .toList();
+        // Not ex.getMessage(): it echoes the rejected values, passwords included
+        logClientError("Method Argument Not Valid", errors, request);
+        return respond(HttpStatus.BAD_REQUEST, Status.FAIL, "Validation failed", errors, request);
+    }
+
+    // Unreadable bodies, missing or malformed parameters, unsupported media types: their own status code
+    @ExceptionHandler(ResponseStatusException.class)
+    public ResponseEntity<ApiResponse<List<String>>> handleResponseStatus(ResponseStatusException ex,
+            ServerHttpRequest request) {
+
+        HttpStatus status = HttpStatus.resolve(ex.getStatusCode().value());
+        status = status == null ? HttpStatus.BAD_REQUEST : status;
+        logClientError(status.getReasonPhrase(), ex.getReason(), request);
+        return respond(status, Status.FAIL, status.getReasonPhrase(), List.of(String.valueOf(ex.getReason())), request);
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<ApiResponse<List<String>>> handleIllegalArgument(IllegalArgumentException ex,
+            ServerHttpRequest request) {
+
+        logClientError("Business validation failed", ex.getMessage(), request);
+        return respond(HttpStatus.BAD_REQUEST, Status.FAIL, "Business validation failed", List.of(ex.getMessage()),
+                request);
+    }
+
+    // Unique key violations of the INSERT/UPDATE: the R2DBC drivers name the violated key in the message
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<ApiResponse<List<String>>> handleDataIntegrityViolation(DataIntegrityViolationException ex,
+            ServerHttpRequest request) {
+
+        String text = String.valueOf(ex.getMostSpecificCause().getMessage()).toLowerCase(Locale.ROOT);
+        String duplicate = text.contains(User.EMAIL_UNIQUE) ? "Email already registered"
+                : text.contains(User.PHONE_NO_UNIQUE) ? "Phone number already registered"
+                : null;
+        if (duplicate == null) {
+            logClientError("Data integrity violation", ex.getMostSpecificCause().getClass().getSimpleName(), request);
+            log.debug("Data integrity violation", ex);
+            return respond(HttpStatus.CONFLICT, Status.FAIL, "Data integrity violation",
+                    List.of("Request conflicts with existing data"), request);
+        }
+        logClientError("Business validation failed", duplicate, request);
+        return respond(HttpStatus.BAD_REQUEST, Status.FAIL, "Business validation failed", List.of(duplicate), request);
+    }
+
+    @ExceptionHandler(ResourceNotFoundException.class)
+    public ResponseEntity<ApiResponse<List<String>>> handleNotFound(ResourceNotFoundException ex,
+            ServerHttpRequest request) {
+
+        logClientError("Resources Not Found", ex.getMessage(), request);
+        return respond(HttpStatus.NOT_FOUND, Status.FAIL, "Resources Not Found", List.of(ex.getMessage()), request);
+    }
+
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<ApiResponse<List<String>>> handlePreconditionFailed(PreconditionFailedException ex,
+            ServerHttpRequest request) {
+
+        logClientError("Precondition failed", ex.getMessage(), request);
+        return respond(HttpStatus.PRECONDITION_FAILED, Status.FAIL, "Precondition failed", List.of(ex.getMessage()),
+                request);
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ApiResponse<List<String>>> handleOptimisticLockingFailure(
+            OptimisticLockingFailureException ex, ServerHttpRequest request) {
+
+        logClientError("Concurrent modification", ex.getMessage(), request);
+        return respond(HttpStatus.CONFLICT, Status.FAIL, "Conflict",
+                List.of("The user was modified concurrently, retry the request"), request);
+    }
+
+    // Saturated password hashing pool: 503 with a Retry-After hint
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<ApiResponse<List<String>>> handleServiceUnavailable(ServiceUnavailableException ex,
+            ServerHttpRequest request) {
+
+        logClientError("Service unavailable", ex.getMessage(), request);
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(new ApiResponse<>(HttpStatus.SERVICE_UNAVAILABLE.value(), Status.ERROR,
+                        "Service temporarily unavailable", List.of(ex.getMessage()), request.getPath().value(),
+                        LocalDateTime.now()));
+    }
+
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<ApiResponse<List<String>>> handleUnexpectedException(Exception ex,
+            ServerHttpRequest request) {
+
+        log.atError().setMessage("INTERNAL_SERVER_ERROR")
+                .addKeyValue("path", request.getPath().value())
+                .setCause(ex)
+                .log();
+        return respond(HttpStatus.INTERNAL_SERVER_ERROR, Status.ERROR, "Unexpected error occurred",
+                List.of("Something went wrong"), request);
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.user_information_reactive.Repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+
+import com.example.user_information_reactive.Entity.User;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// Derived queries only: Spring Data renders the quoted table name for the database's dialect, hand-written
+// SQL would need "user" on H2 and `user` on MySQL
+public interface ReactiveUserRepo extends R2dbcRepository<User, Long> {
+
+    // One page: LIMIT/OFFSET with the pageable's sort, no count
+    Flux<User> findAllBy(Pageable pageable);
+
+    // Every user in sort order, emitted as the driver reads rows and as fast as the subscriber requests them
+    Flux<User> findAllBy(Sort sort);
+
+    Mono<User> findTopByOrderByIdDesc();
+
+    // Row counts of a single DELETE, unlike deleteById
+    Mono<Integer> removeById(Long id);
+
+    Mono<Integer> removeByIdAndVersion(Long id, Long version);
+}
@@ -0,0 +1,249 @@
+package com.example.user_information_reactive.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+
+import com.example.user_information.ApiResponse;
+import com.example.user_information.Common.Csv;
+import com.example.user_information.Common.ExportFormat;
+import com.example.user_information.Common.LogRateLimiter;
+import com.example.user_information.Common.Status;
+import com.example.user_information.DTO.UserPatchDTO;
+import com.example.user_information.DTO.UserRegisterDTO;
+import com.example.user_information.DTO.UserResponseDTO;
+import com.example.user_information.Exception.PreconditionFailedException;
+import com.example.user_information.Exception.ResourceNotFoundException;
+import com.example.user_information.Service.PasswordHasher;
+import com.example.user_information_reactive.Entity.User;
+import com.example.user_information_reactive.Repository.ReactiveUserRepo;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+/*
+ * UserImpl's operations on R2DBC. Nothing here blocks a thread: statements are asynchronous and BCrypt runs
+ * on PasswordHasher's pool through its CompletableFuture methods, so the event loop only maps and encodes.
+ *
+ * Not carried over: the read-through cache, the Bloom filter pre-checks (the unique keys answer duplicates,
+ * mapped to the same 400s) and the maintained user count, replaced by a count cached for user.count.max-age.
+ */
+@Slf4j
+@Service
+public class ReactiveUserImpl implements ReactiveUserService {
+
+    private static final LogRateLimiter REGISTERED_LOG = new LogRateLimiter(Duration.ofSeconds(1));
+
+    private final ReactiveUserRepo userRepo;
+    private final UserIdAllocator idAllocator;
+    private final PasswordHasher passwordHasher;
+    private final ObjectWriter jsonWriter;
+    private final int exportChunkSize;
+    private final int patchMaxAttempts;
+    private final Mono<Long> approximateCount;
+
+    public ReactiveUserImpl(ReactiveUserRepo userRepo, UserIdAllocator idAllocator, PasswordHasher passwordHasher,
+                            ObjectMapper objectMapper,
+                            @Value("${user.export.chunk-size:256}") int exportChunkSize,
+                            @Value("${user.patch.max-attempts:5}") int patchMaxAttempts,
+                            @Value("${user.count.max-age:5s}") Duration countMaxAge) {
+        this.userRepo = userRepo;
+        this.idAllocator = idAllocator;
+        this.passwordHasher = passwordHasher;
+        this.jsonWriter = objectMapper.writerFor(UserResponseDTO.class);
+        this.exportChunkSize = exportChunkSize;
+        this.patchMaxAttempts = Math.max(1, patchMaxAttempts);
+        // One COUNT(*) per max-age however many pages are requested; failures are not cached
+        this.approximateCount = userRepo.count().cache(count -> countMaxAge, ex -> Duration.ZERO, () -> Duration.ZERO);
+    }
+
+    @Override
+    public Mono<ApiResponse<UserResponseDTO>> addUser(UserRegisterDTO dto) {
+        // Hashed before an id is taken, a saturated pool (503) wastes none. A duplicate email or phone number
+        // fails the INSERT on its unique key, ReactiveExceptionHandler answers with the usual 400
+        return Mono.fromFuture(() -> passwordHasher.hashAsync(dto.getPassword()))
+                .flatMap(hash -> idAllocator.nextId().flatMap(id -> {
+                    User user = toEntity(dto, hash, new User());
+                    user.setId(id);
+                    return userRepo.save(user);
+                }))
+                .map(user -> {
+                    if (REGISTERED_LOG.tryAcquire()) {
+                        log.atInfo().setMessage("User registered")
+                                .addKeyValue("userId", user.getId())
+                                .addKeyValue("suppressed", REGISTERED_LOG.drainSuppressed())
+                                .log();
+                    }
+                    return new ApiResponse<>(201, Status.SUCCESS, "User registered successfully", toResponse(user),
+                            null, LocalDateTime.now());
+                });
+    }
+
+    @Override
+    public Mono<Page<UserResponseDTO>> getUsers(Pageable pageable, boolean exactCount) {
+        // The page and the count run concurrently, on two pooled connections
+        Mono<List<UserResponseDTO>> content = userRepo.findAllBy(pageable).map(ReactiveUserImpl::toResponse).collectList();
+        Mono<Long> total = exactCount ? userRepo.count() : approximateCount;
+        return Mono.zip(content, total, (users, count) -> new PageImpl<>(users, pageable, count));
+    }
+
+    @Override
+    public Mono<UserResponseDTO> getUserById(Long id) {
+        return findExisting(id).map(ReactiveUserImpl::toResponse);
+    }
+
+    @Override
+    public Flux<DataBuffer> exportUsers(ExportFormat format, DataBufferFactory bufferFactory) {
+        // Rows are requested from the driver chunk-size at a time and only while the response keeps up
+        // (Netty stops requesting when the socket is not writable), so memory stays bounded by a few
+        // chunks whatever the table size. One buffer per chunk keeps writes and flushes coarse
+        AtomicLong count = new AtomicLong();
+        Flux<String> header = format == ExportFormat.CSV ? Flux.just("name,email,phoneNo\n") : Flux.empty();
+        Flux<String> lines = userRepo.findAllBy(Sort.by("id"))
+                .limitRate(exportChunkSize)
+                .map(user -> {
+                    count.incrementAndGet();
+                    return line(toResponse(user), format);
+                });
+        return header.concatWith(lines)
+                .buffer(exportChunkSize)
+                .map(chunk -> bufferFactory.wrap(String.join("", chunk).getBytes(StandardCharsets.UTF_8)))
+                .doOnComplete(() -> log.info("User export finished: {} users as {}", count.get(), format));
+    }
+
+    private String line(UserResponseDTO dto, ExportFormat format) {
+        if (format == ExportFormat.CSV) {
+            return Csv.escape(dto.getName()) + ',' + Csv.escape(dto.getEmail()) + ',' + Csv.escape(dto.getPhoneNo()) + '\n';
+        }
+        try {
+            return jsonWriter.writeValueAsString(dto) + '\n';
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not serialize user " + dto.getId(), ex);
+        }
+    }
+
+    @Override
+    public Mono<UserResponseDTO> updateUser(Long id, UserRegisterDTO dto, Long expectedVersion) {
+        // save() updates WHERE version = the one read, a concurrent writer in between ends in 409
+        return findExisting(id)
+                .flatMap(user -> {
+                    checkVersion(user, expectedVersion);
+                    return Mono.fromFuture(() -> passwordHasher.hashAsync(dto.getPassword()))
+                            .flatMap(hash -> userRepo.save(toEntity(dto, hash, user)));
+                })
+                .map(saved -> {
+                    log.atInfo().setMessage("User updated").addKeyValue("userId", id).log();
+                    return toResponse(saved);
+                });
+    }
+
+    @Override
+    public Mono<UserResponseDTO> patchUser(Long id, UserPatchDTO dto, Long expectedVersion) {
+        // Hashed once, before the first attempt. Each attempt is a fresh read and an UPDATE ... WHERE version = ?;
+        // a lost race is retried after a randomised backoff, with If-Match the fresh read ends in 412 instead
+        Mono<Optional<String>> passwordHash = dto.getPassword() == null
+                ? Mono.just(Optional.empty())
+                : Mono.fromFuture(() -> passwordHasher.hashAsync(dto.getPassword())).map(Optional::of);
+        AtomicInteger attempts = new AtomicInteger();
+        return passwordHash.flatMap(hash -> Mono.defer(() -> {
+                    attempts.incrementAndGet();
+                    return findExisting(id).flatMap(user -> {
+                        checkVersion(user, expectedVersion);
+                        return userRepo.save(applyPatch(user, dto, hash.orElse(null)));
+                    });
+                })
+                .retryWhen(Retry.backoff(patchMaxAttempts - 1, Duration.ofMillis(5))
+                        .jitter(1.0)
+                        .filter(OptimisticLockingFailureException.class::isInstance)
+                        .onRetryExhaustedThrow((spec, signal) -> signal.failure())))
+                .map(saved -> {
+                    log.atInfo().setMessage("User patched")
+                            .addKeyValue("userId", id)
+                            .addKeyValue("attempts", attempts.get())
+                            .log();
+                    return toResponse(saved);
+                });
+    }
+
+    private static User applyPatch(User user, UserPatchDTO dto, String passwordHash) {
+        if (dto.getName() != null) {
+            user.setName(dto.getName());
+        }
+        if (dto.getEmail() != null) {
+            user.setEmail(dto.getEmail());
+        }
+        if (dto.getAge() != null) {
+            user.setAge(dto.getAge());
+        }
+        if (dto.getPhoneNo() != null) {
+            user.setPhoneNo(dto.getPhoneNo());
+        }
+        if (passwordHash != null) {
+            user.setPassword(passwordHash);
+        }
+        return user;
+    }
+
+    @Override
+    public Mono<Void> deleteUserById(Long id, Long expectedVersion) {
+        // One DELETE, the version condition included; only a miss needs a second look to tell 404 from 412
+        Mono<Integer> deleted = expectedVersion == null
+                ? userRepo.removeById(id)
+                : userRepo.removeByIdAndVersion(id, expectedVersion);
+        return deleted.flatMap(rows -> {
+            if (rows > 0) {
+                log.atInfo().setMessage("User deleted").addKeyValue("userId", id).log();
+                return Mono.<Void>empty();
+            }
+            Mono<Boolean> exists = expectedVersion == null ? Mono.just(false) : userRepo.existsById(id);
+            return exists.flatMap(changed -> Mono.<Void>error(changed
+                    ? new PreconditionFailedException("User " + id + " has changed, ETag does not match")
+                    : new ResourceNotFoundException("User not found with Id" + id)));
+        });
+    }
+
+    private Mono<User> findExisting(Long id) {
+        return userRepo.findById(id)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("User not found with Id" + id)));
+    }
+
+    // If-Match: the version the client last saw must still be the current one
+    private static void checkVersion(User user, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(user.getVersion())) {
+            throw new PreconditionFailedException("User " + user.getId() + " has changed, ETag does not match");
+        }
+    }
+
+    // Same mapping as UserImpl.toEntity/toResponse, for the R2DBC entity
+    static User toEntity(UserRegisterDTO dto, String passwordHash, User user) {
+        user.setName(dto.getName());
+        user.setAge(dto.getAge());
+        user.setEmail(dto.getEmail());
+        user.setPhoneNo(dto.getPhoneNo());
+        user.setPassword(passwordHash);
+        return user;
+    }
+
+    static UserResponseDTO toResponse(User user) {
+        return new UserResponseDTO(user.getName(), user.getEmail(), user.getPhoneNo(), user.getId(), user.getVersion());
+    }
+}
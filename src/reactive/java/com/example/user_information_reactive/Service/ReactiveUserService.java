@@ -0,0 +1,38 @@
+package com.example.user_information_reactive.Service;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import com.example.user_information.ApiResponse;
+import com.example.user_information.Common.ExportFormat;
+import com.example.user_information.DTO.UserPatchDTO;
+import com.example.user_information.DTO.UserRegisterDTO;
+import com.example.user_information.DTO.UserResponseDTO;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// UserService without blocking calls: same operations and errors, results as Mono/Flux
+public interface ReactiveUserService {
+
+    Mono<ApiResponse<UserResponseDTO>> addUser(UserRegisterDTO dto);
+
+    // exactCount false takes the total from a count cached for user.count.max-age
+    Mono<Page<UserResponseDTO>> getUsers(Pageable pageable, boolean exactCount);
+
+    Mono<UserResponseDTO> getUserById(Long id);
+
+    // NDJSON or CSV in chunks of lines, read from the database no faster than the response is written
+    Flux<DataBuffer> exportUsers(ExportFormat format, DataBufferFactory bufferFactory);
+
+    // expectedVersion comes from If-Match, null when the request is unconditional
+    Mono<UserResponseDTO> updateUser(Long id, UserRegisterDTO dto, Long expectedVersion);
+
+    // Only the non-null fields of the patch are written; concurrent writers are retried optimistically
+    Mono<UserResponseDTO> patchUser(Long id, UserPatchDTO dto, Long expectedVersion);
+
+    Mono<Void> deleteUserById(Long id, Long expectedVersion);
+
+}
@@ -0,0 +1,110 @@
+package com.example.user_information_reactive.Service;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+
+import com.example.user_information.Entity.PooledIdGenerator;
+import com.example.user_information_reactive.Repository.ReactiveUserRepo;
+
+import reactor.core.publisher.Mono;
+
+/*
+ * User ids from the same allocation table the servlet application's PooledIdGenerator uses ("pooled-lo"):
+ * the row holds the first id of the next free block, a node reserves a block by moving it forward and then
+ * hands out ids from memory. Both stacks can therefore insert into one database without colliding.
+ *
+ * The reservation is a compare-and-set UPDATE (WHERE next_val = the value read) retried on a lost race, so
+ * it needs no transaction or lock. Requests that find the block used up at the same time each reserve one;
+ * the blocks they do not keep are skipped ids, as after a restart.
+ */
+@Component
+public class UserIdAllocator {
+
+    static final String USER_SEGMENT = "user";
+
+    private static final int MAX_ATTEMPTS = 16;
+
+    private record Block(AtomicLong next, long end) {
+
+        static final Block EMPTY = new Block(new AtomicLong(), 0);
+
+        // null once used up
+        Long take() {
+            long id = next.getAndIncrement();
+            return id < end ? id : null;
+        }
+    }
+
+    private final DatabaseClient databaseClient;
+    private final ReactiveUserRepo userRepo;
+    private final int blockSize;
+    private final AtomicReference<Block> block = new AtomicReference<>(Block.EMPTY);
+
+    public UserIdAllocator(DatabaseClient databaseClient, ReactiveUserRepo userRepo, @Value("${user.id.block-size:50}") int blockSize) {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("user.id.block-size must be positive but was " + blockSize);
+        }
+        this.databaseClient = databaseClient;
+        this.userRepo = userRepo;
+        this.blockSize = blockSize;
+    }
+
+    public Mono<Long> nextId() {
+        return Mono.defer(() -> {
+            Long id = block.get().take();
+            if (id != null) {
+                return Mono.just(id);
+            }
+            return reserve().map(reserved -> {
+                long first = reserved.take();
+                block.set(reserved);
+                return first;
+            });
+        });
+    }
+
+    private Mono<Block> reserve() {
+        Mono<Block> attempt = databaseClient.sql("select " + PooledIdGenerator.VALUE_COLUMN + " from "
+                        + PooledIdGenerator.TABLE + " where " + PooledIdGenerator.SEGMENT_COLUMN + " = :segment")
+                .bind("segment", USER_SEGMENT)
+                .map(row -> row.get(0, Long.class))
+                .one()
+                .switchIfEmpty(Mono.defer(this::initialise))
+                .flatMap(seen -> databaseClient.sql("update " + PooledIdGenerator.TABLE + " set "
+                                + PooledIdGenerator.VALUE_COLUMN + " = :next where " + PooledIdGenerator.SEGMENT_COLUMN
+                                + " = :segment and " + PooledIdGenerator.VALUE_COLUMN + " = :seen")
+                        .bind("next", seen + blockSize)
+                        .bind("segment", USER_SEGMENT)
+                        .bind("seen", seen)
+                        .fetch()
+                        .rowsUpdated()
+                        .filter(rows -> rows == 1)
+                        .map(rows -> new Block(new AtomicLong(seen), seen + blockSize)));
+        // Empty when another node moved the row first
+        return attempt.repeatWhenEmpty(MAX_ATTEMPTS, attempts -> attempts)
+                .switchIfEmpty(Mono.error(() -> new IllegalStateException(
+                        "Could not reserve user ids after " + MAX_ATTEMPTS + " attempts")));
+    }
+
+    // No row yet (a database the servlet application has not started on): start past the highest id
+    private Mono<Long> initialise() {
+        return userRepo.findTopByOrderByIdDesc()
+                .map(user -> user.getId() + 1)
+                .defaultIfEmpty(1L)
+                .flatMap(next -> databaseClient.sql("insert into " + PooledIdGenerator.TABLE + " ("
+                                + PooledIdGenerator.SEGMENT_COLUMN + ", " + PooledIdGenerator.VALUE_COLUMN
+                                + ") values (:segment, :next)")
+                        .bind("segment", USER_SEGMENT)
+                        .bind("next", next)
+                        .fetch()
+                        .rowsUpdated()
+                        .thenReturn(next))
+                // Another node created the row first, the next attempt reads it
+                .onErrorResume(DataIntegrityViolationException.class, ex -> Mono.empty());
+    }
+}
@@ -0,0 +1,20 @@
+-- Tables of the servlet application's JPA mapping, for embedded databases only (spring.sql.init.mode=embedded).
+-- The table name is quoted as Hibernate quotes it, the other identifiers are not (H2 folds them to upper case)
+create table if not exists "user" (
+    id bigint not null primary key,
+    name varchar(255),
+    age integer not null,
+    email varchar(255),
+    phone_no varchar(255),
+    password varchar(255),
+    version bigint default 0 not null,
+    constraint uk_user_email unique (email),
+    constraint uk_user_phone_no unique (phone_no)
+);
+create index if not exists idx_user_name_id on "user" (name, id);
+create index if not exists idx_user_age_id on "user" (age, id);
+
+create table if not exists id_allocation (
+    segment_name varchar(255) not null primary key,
+    next_val bigint
+);
@@ -0,0 +1,113 @@
+package com.example.user_information;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.example.user_information.Common.AdaptiveLimit;
+import com.example.user_information.Config.AdmissionControlInterceptor;
+import com.example.user_information.Controller.UserController;
+import com.example.user_information.DTO.UserResponseDTO;
+import com.example.user_information.Exception.GlobalExceptionHandler;
+import com.example.user_information.Service.UserService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class AdmissionControlTest {
+
+    private static final long MS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @Test
+    public void testLimitGrowsWhenFastAndUsedAndShrinksWhenSlow() {
+        AdaptiveLimit limit = new AdaptiveLimit(4, 2, 6, 100 * MS, 0.5);
+
+        for (int i = 0; i < 4; i++) {
+            assertTrue(limit.tryAcquire());
+        }
+        assertFalse(limit.tryAcquire());
+
+        // Fast completions while the limit is in use: +1 each, up to the maximum
+        limit.release(10 * MS, false);
+        limit.release(10 * MS, false);
+        assertEquals(6, limit.getLimit());
+
+        // Slow, or congested: halved, never below the minimum
+        limit.release(500 * MS, false);
+        assertEquals(3, limit.getLimit());
+        limit.release(10 * MS, true);
+        assertEquals(2, limit.getLimit());
+        assertEquals(0, limit.getInFlight());
+
+        // One of two in use counts as used, one of three does not: the limit stops growing when idle
+        assertTrue(limit.tryAcquire());
+        limit.release(10 * MS, false);
+        assertEquals(3, limit.getLimit());
+        assertTrue(limit.tryAcquire());
+        limit.release(10 * MS, false);
+        assertEquals(3, limit.getLimit());
+    }
+
+    @Test
+    public void testRequestsOverTheLimitGet503WithRetryAfter() throws Exception {
+        UserService userService = mock(UserService.class);
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(userService.getUserById(1L)).thenAnswer(invocation -> {
+            entered.countDown();
+            release.await(10, TimeUnit.SECONDS);
+            return new UserResponseDTO("John", "john@example.com", "9876543210", 1L, 0L);
+        });
+
+        MeterRegistry registry = new SimpleMeterRegistry();
+        AdmissionControlInterceptor interceptor = new AdmissionControlInterceptor(
+                new AdaptiveLimit(1, 1, 1, 1000 * MS, 0.9), new AdaptiveLimit(1, 1, 1, 1000 * MS, 0.9),
+                () -> 0, 2, registry);
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new UserController(userService, null))
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .addInterceptors(interceptor)
+                .build();
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Integer> first = executor.submit(
+                    () -> mockMvc.perform(get("/user/1")).andReturn().getResponse().getStatus());
+            assertTrue(entered.await(10, TimeUnit.SECONDS));
+
+            // The single read slot is taken: shed at once, in the usual error envelope
+            mockMvc.perform(get("/user/1"))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().string("Retry-After", "2"))
+                    .andExpect(jsonPath("$.status").value("ERROR"))
+                    .andExpect(jsonPath("$.message").value("Service temporarily unavailable"))
+                    .andExpect(jsonPath("$.data[0]").value("Too many concurrent read requests, retry later"));
+
+            release.countDown();
+            assertEquals(200, first.get(10, TimeUnit.SECONDS));
+            mockMvc.perform(get("/user/1")).andExpect(status().isOk());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(2, registry.get(AdmissionControlInterceptor.METRIC + ".requests")
+                .tags("lane", "read", "outcome", "admitted").counter().count());
+        assertEquals(1, registry.get(AdmissionControlInterceptor.METRIC + ".requests")
+                .tags("lane", "read", "outcome", "rejected").counter().count());
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.user_information;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * Result table of an opt-in load test, written to target/load-tests/<test class>.txt.
+ *
+ * The load tests boot and close the application once per run, and logging does not outlive the closed
+ * contexts, so the tables are collected here and written once all runs are done.
+ */
+final class LoadTestReport {
+
+    private static final Path DIRECTORY = Path.of("target", "load-tests");
+
+    private final List<String> lines = new ArrayList<>();
+
+    LoadTestReport line(String format, Object... args) {
+        lines.add(String.format(format, args));
+        return this;
+    }
+
+    Path write(Class<?> test) {
+        Path file = DIRECTORY.resolve(test.getSimpleName() + ".txt");
+        try {
+            Files.createDirectories(DIRECTORY);
+            return Files.write(file, lines);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not write load test report " + file, ex);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.user_information;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.user_information.Common.LogRateLimiter;
+import com.example.user_information.DTO.UserRegisterDTO;
+import com.example.user_information.Entity.User;
+
+public class LogRateLimiterTest {
+
+    @Test
+    public void testOneEventPerIntervalAndSuppressedCount() {
+        LogRateLimiter limiter = new LogRateLimiter(Duration.ofHours(1));
+
+        assertTrue(limiter.tryAcquire());
+        for (int i = 0; i < 5; i++) {
+            assertFalse(limiter.tryAcquire());
+        }
+
+        assertEquals(5, limiter.drainSuppressed());
+        assertEquals(0, limiter.drainSuppressed());
+    }
+
+    @Test
+    public void testNextIntervalLetsAnEventThrough() throws InterruptedException {
+        LogRateLimiter limiter = new LogRateLimiter(Duration.ofMillis(20));
+
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+        Thread.sleep(30);
+
+        assertTrue(limiter.tryAcquire());
+    }
+
+    @Test
+    public void testPasswordsNeverInToString() {
+        UserRegisterDTO dto = new UserRegisterDTO("John", "john@example.com", 30, "Secret@1234", "9876543210");
+        User user = new User(1L, "John", 30, "john@example.com", "9876543210", "$2a$10$secretHash");
+
+        assertFalse(dto.toString().contains("Secret@1234"));
+        assertFalse(user.toString().contains("secretHash"));
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.user_information;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.matchesRegex;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.lang.management.ManagementFactory;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.repository.core.support.RepositoryMethodInvocationListener.RepositoryMethodInvocation;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import com.example.user_information.Config.EndpointMetricsFilter;
+import com.example.user_information.Config.RepositoryMetricsListener;
+import com.example.user_information.Controller.UserController;
+import com.example.user_information.Entity.User;
+import com.example.user_information.Repository.UserRepo;
+
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@ActiveProfiles("test")
+public class MetricsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepo userRepo;
+
+    @Test
+    void testPrometheusScrape_EndpointRepositoryAndPoolMetrics() throws Exception {
+        User user = userRepo.save(new User(null, "Metrics", 30, "metrics@example.com", "9000000001", "Pass@1234"));
+
+        mockMvc.perform(get("/user/{id}", user.getId())).andExpect(status().isOk());
+        mockMvc.perform(get("/user/{id}", Long.MAX_VALUE)).andExpect(status().isNotFound());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(matchesRegex("(?s).*user_api_requests_seconds\\{[^}]*handler=\"UserController.getUserById\""
+                        + "[^}]*outcome=\"SUCCESS\"[^}]*uri=\"/user/\\{id}\"[^}]*quantile=\"0.99\"} .*")))
+                .andExpect(content().string(matchesRegex("(?s).*user_api_requests_seconds_count\\{[^}]*outcome=\"CLIENT_ERROR\""
+                        + "[^}]*uri=\"/user/\\{id}\"[^}]*} 1.*")))
+                .andExpect(content().string(matchesRegex("(?s).*user_repository_invocations_seconds\\{[^}]*method=\"findById\""
+                        + "[^}]*repository=\"UserRepo\"[^}]*quantile=\"0.95\"} .*")))
+                .andExpect(content().string(matchesRegex("(?s).*hikaricp_connections_acquire_seconds\\{[^}]*quantile=\"0.5\".*")))
+                .andExpect(content().string(containsString("hikaricp_connections_pending")))
+                .andExpect(content().string(containsString("hikaricp_connections_active")));
+
+        userRepo.delete(user);
+    }
+
+    @Test
+    void testRecording_AllocatesNothingPerRequest() throws Exception {
+        PrometheusMeterRegistry registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+
+        EndpointMetricsFilter filter = new EndpointMetricsFilter(registry);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/user/1");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE, new HandlerMethod(new Object(),
+                UserController.class.getMethod("getUserById", Long.class, WebRequest.class)));
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/user/{id}");
+
+        RepositoryMetricsListener listener = new RepositoryMetricsListener(registry);
+        RepositoryMethodInvocation invocation = new RepositoryMethodInvocation(UserRepo.class,
+                UserRepo.class.getMethod("findById", Object.class), null, 1_000);
+
+        Runnable recordBoth = () -> {
+            filter.record(request, 200, 1_000_000);
+            listener.afterInvocation(invocation);
+        };
+        long perCall = allocatedBytesPerCall(recordBoth);
+
+        assertTrue(perCall == 0, "recording allocated " + perCall + " bytes per request");
+    }
+
+    private static long allocatedBytesPerCall(Runnable action) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        for (int i = 0; i < 50_000; i++) {
+            action.run();
+        }
+        int calls = 200_000;
+        long before = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < calls; i++) {
+            action.run();
+        }
+        long after = threads.getCurrentThreadAllocatedBytes();
+        return (after - before) / calls;
+    }
+}
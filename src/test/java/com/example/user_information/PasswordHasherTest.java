@@ -0,0 +1,133 @@
+package com.example.user_information;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.example.user_information.Exception.ServiceUnavailableException;
+import com.example.user_information.Service.PasswordHasher;
+
+public class PasswordHasherTest {
+
+    private PasswordHasher hasher;
+
+    @AfterEach
+    void tearDown() {
+        hasher.destroy();
+    }
+
+    @Test
+    public void testHashAndMatch() {
+        hasher = new PasswordHasher(4, 1, 4, 0, Duration.ofSeconds(10));
+
+        String hash = hasher.hash("Pass@1234");
+
+        assertTrue(hash.startsWith("$2a$04$"));
+        assertTrue(hasher.matches("Pass@1234", hash));
+        assertFalse(hasher.matches("Pass@12345", hash));
+        assertFalse(hasher.needsUpgrade(hash));
+    }
+
+    @Test
+    public void testStrengthChangeMarksOlderHashesForUpgrade() {
+        hasher = new PasswordHasher(4, 1, 4, 0, Duration.ofSeconds(10));
+        String old = hasher.hash("Pass@1234");
+
+        hasher.setStrength(10);
+
+        assertTrue(hasher.matches("Pass@1234", old));
+        assertTrue(hasher.needsUpgrade(old));
+        assertTrue(hasher.hash("Pass@1234").startsWith("$2a$10$"));
+        // A runaway cost would block every registration for days
+        assertThrows(IllegalArgumentException.class, () -> hasher.setStrength(9));
+        assertThrows(IllegalArgumentException.class, () -> hasher.setStrength(15));
+    }
+
+    @Test
+    public void testLegacyPlainTextPassword() {
+        hasher = new PasswordHasher(4, 1, 4, 0, Duration.ofSeconds(10));
+
+        assertTrue(hasher.matches("Pass@1234", "Pass@1234"));
+        assertFalse(hasher.matches("Pass@123", "Pass@1234"));
+        assertTrue(hasher.needsUpgrade("Pass@1234"));
+    }
+
+    @Test
+    public void testSaturatedPoolRejectsSingleHashes() throws Exception {
+        // One thread, no queue: while a slow hash runs there is no permit left
+        hasher = new PasswordHasher(14, 1, 0, 0, Duration.ofSeconds(30));
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> hasher.hash("Pass@1234"));
+        while (hasher.stats().getActive() == 0) {
+            Thread.sleep(5);
+        }
+
+        ServiceUnavailableException ex = assertThrows(ServiceUnavailableException.class, () -> hasher.hash("Other@1234"));
+
+        assertTrue(ex.getRetryAfterSeconds() >= 1);
+        assertEquals(1, hasher.stats().getRejected());
+        hasher.setStrength(10);
+        assertTrue(running.get().startsWith("$2a$14$"));
+    }
+
+    @Test
+    public void testHashAllWaitsForCapacity() {
+        hasher = new PasswordHasher(4, 1, 1, 0, Duration.ofSeconds(10));
+
+        List<String> hashes = hasher.hashAll(List.of("Pass@1", "Pass@2", "Pass@3", "Pass@4", "Pass@5"));
+
+        assertEquals(5, hashes.size());
+        assertTrue(hasher.matches("Pass@3", hashes.get(2)));
+        assertEquals(0, hasher.stats().getRejected());
+    }
+
+    @Test
+    public void testBulkHashingLeavesPermitsForSingleHashes() throws Exception {
+        // Capacity 4, bulk callers may hold 2 of it
+        hasher = new PasswordHasher(8, 1, 3, 2, Duration.ofSeconds(30));
+        CompletableFuture<List<String>> bulk = CompletableFuture.supplyAsync(
+                () -> hasher.hashAll(Collections.nCopies(20, "Pass@1234")));
+        while (hasher.stats().getActive() == 0) {
+            Thread.sleep(1);
+        }
+
+        assertTrue(hasher.hash("Other@1234").startsWith("$2a$08$"));
+        assertTrue(hasher.hash("Other@1234").startsWith("$2a$08$"));
+
+        assertEquals(20, bulk.get().size());
+        assertEquals(0, hasher.stats().getRejected());
+        assertEquals(2, hasher.stats().getBulkCapacity());
+    }
+
+    @Test
+    public void testAsyncHashSharesThePermits() throws Exception {
+        hasher = new PasswordHasher(14, 1, 0, 0, Duration.ofSeconds(30));
+        CompletableFuture<String> running = hasher.hashAsync("Pass@1234");
+
+        // Saturation is a failed future, not an exception on the calling (event-loop) thread
+        CompletableFuture<String> rejected = hasher.hashAsync("Other@1234");
+        ExecutionException ex = assertThrows(ExecutionException.class,
+                rejected::get);
+        assertTrue(ex.getCause() instanceof ServiceUnavailableException);
+
+        String hash = running.get();
+        // The permit comes back once the pool thread is done with the task, just after the future completes
+        while (hasher.stats().getActive() > 0) {
+            Thread.sleep(5);
+        }
+        assertTrue(hasher.matches("Pass@1234", hash));
+        while (hasher.stats().getActive() > 0) {
+            Thread.sleep(5);
+        }
+        assertTrue(hasher.hashAsync("Other@1234").get().startsWith("$2a$14$"));
+    }
+}
@@ -0,0 +1,255 @@
+package com.example.user_information;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.io.IOException;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+import net.ttddyy.dsproxy.listener.MethodExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+
+/*
+ * SQL statement and row budgets for the integration tests.
+ *
+ * Config wraps the application DataSource in a counting proxy. A test measures a request and asserts its
+ * budget:
+ *
+ *   queries.measure(() -> mockMvc.perform(get("/user/{id}", id)).andExpect(status().isOk()))
+ *           .assertStatementsAtMost(1)
+ *           .assertRowsFetchedAtMost(1);
+ *
+ * A JDBC batch counts as one statement, it is one round trip. Independently of any budget every request is
+ * checked for N+1 patterns: the same SQL executed N_PLUS_ONE_THRESHOLD or more times while serving one
+ * request. Extension reports them after each test and fails it.
+ *
+ * Usage: @Import(QueryBudget.Config.class) and @ExtendWith(QueryBudget.Extension.class) on the test class.
+ */
+@Slf4j
+public class QueryBudget implements QueryExecutionListener, MethodExecutionListener {
+
+    static final int N_PLUS_ONE_THRESHOLD = 3;
+
+    private final Queue<String> statements = new ConcurrentLinkedQueue<>();
+    private final AtomicLong rowsFetched = new AtomicLong();
+    private volatile boolean measuring;
+
+    // Statements of the request being served on this thread, for the N+1 check
+    private final ThreadLocal<List<String>> requestStatements = new ThreadLocal<>();
+    private final Queue<String> nPlusOneReports = new ConcurrentLinkedQueue<>();
+
+    @FunctionalInterface
+    public interface Action {
+        void run() throws Exception;
+    }
+
+    // Runs the action and returns what it cost the database; measurements must not be nested
+    public Usage measure(Action action) throws Exception {
+        statements.clear();
+        rowsFetched.set(0);
+        measuring = true;
+        try {
+            action.run();
+        } finally {
+            measuring = false;
+        }
+        return new Usage(List.copyOf(statements), rowsFetched.get());
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execution, List<QueryInfo> queries) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execution, List<QueryInfo> queries) {
+        // Every query of a batch has the same SQL, one entry per round trip
+        String sql = queries.get(0).getQuery();
+        if (measuring) {
+            statements.add(sql);
+        }
+        List<String> request = requestStatements.get();
+        if (request != null) {
+            request.add(sql);
+        }
+    }
+
+    @Override
+    public void beforeMethod(MethodExecutionContext context) {
+    }
+
+    @Override
+    public void afterMethod(MethodExecutionContext context) {
+        if (measuring && context.getTarget() instanceof ResultSet && "next".equals(context.getMethod().getName())
+                && Boolean.TRUE.equals(context.getResult())) {
+            rowsFetched.incrementAndGet();
+        }
+    }
+
+    // SQL executed at least N_PLUS_ONE_THRESHOLD times, with its count
+    static Map<String, Long> repeated(List<String> statements) {
+        Map<String, Long> counts = statements.stream()
+                .collect(Collectors.groupingBy(sql -> sql, LinkedHashMap::new, Collectors.counting()));
+        counts.values().removeIf(count -> count < N_PLUS_ONE_THRESHOLD);
+        return counts;
+    }
+
+    private List<String> takeNPlusOneReports() {
+        List<String> reports = new ArrayList<>();
+        for (String report; (report = nPlusOneReports.poll()) != null; ) {
+            reports.add(report);
+        }
+        return reports;
+    }
+
+    public static final class Usage {
+
+        private final List<String> statements;
+        private final long rowsFetched;
+
+        private Usage(List<String> statements, long rowsFetched) {
+            this.statements = statements;
+            this.rowsFetched = rowsFetched;
+        }
+
+        public List<String> getStatements() {
+            return statements;
+        }
+
+        public long getRowsFetched() {
+            return rowsFetched;
+        }
+
+        public Map<String, Long> getRepeatedStatements() {
+            return repeated(statements);
+        }
+
+        public Usage assertStatementsAtMost(int max) {
+            if (statements.size() > max) {
+                fail("Expected at most " + max + " statements but " + statements.size() + " ran:" + list(statements));
+            }
+            return this;
+        }
+
+        // Budget for the statements reading or writing one table, e.g. "user"
+        public Usage assertStatementsAtMost(int max, String table) {
+            Pattern touches = Pattern.compile("(?i)\\b(from|into|update|join)\\s+[`\"]?" + Pattern.quote(table) + "[`\"]?(\\s|$)");
+            List<String> matching = statements.stream().filter(sql -> touches.matcher(sql).find()).toList();
+            if (matching.size() > max) {
+                fail("Expected at most " + max + " statements on " + table + " but " + matching.size() + " ran:"
+                        + list(matching));
+            }
+            return this;
+        }
+
+        public Usage assertRowsFetchedAtMost(long max) {
+            if (rowsFetched > max) {
+                fail("Expected at most " + max + " rows fetched but " + rowsFetched + " were read by:" + list(statements));
+            }
+            return this;
+        }
+
+        private static String list(List<String> statements) {
+            return statements.stream().collect(Collectors.joining("\n  ", "\n  ", ""));
+        }
+    }
+
+    @TestConfiguration(proxyBeanMethods = false)
+    public static class Config {
+
+        @Bean
+        public QueryBudget queryBudget() {
+            return new QueryBudget();
+        }
+
+        @Bean
+        public static BeanPostProcessor queryBudgetDataSourceProxy(ObjectProvider<QueryBudget> budget) {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                        QueryBudget listener = budget.getObject();
+                        return ProxyDataSourceBuilder.create(beanName, dataSource)
+                                .listener(listener)
+                                .methodListener(listener)
+                                .proxyResultSet()
+                                .build();
+                    }
+                    return bean;
+                }
+            };
+        }
+
+        // Collects the statements of each request and reports the ones repeated N+1 style
+        @Bean
+        public OncePerRequestFilter queryBudgetFilter(QueryBudget budget) {
+            return new OncePerRequestFilter() {
+                @Override
+                protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                                FilterChain chain) throws ServletException, IOException {
+                    List<String> executed = new ArrayList<>();
+                    budget.requestStatements.set(executed);
+                    try {
+                        chain.doFilter(request, response);
+                    } finally {
+                        budget.requestStatements.remove();
+                        repeated(executed).forEach((sql, count) -> budget.nPlusOneReports.add(
+                                request.getMethod() + " " + request.getRequestURI() + " ran " + count + " times: " + sql));
+                    }
+                }
+            };
+        }
+    }
+
+    // Fails the test when any request it made showed an N+1 pattern
+    public static class Extension implements BeforeEachCallback, AfterEachCallback {
+
+        @Override
+        public void beforeEach(ExtensionContext context) {
+            budget(context).takeNPlusOneReports();
+        }
+
+        @Override
+        public void afterEach(ExtensionContext context) {
+            List<String> reports = budget(context).takeNPlusOneReports();
+            if (!reports.isEmpty()) {
+                String report = String.join("\n  ", reports);
+                log.warn("N+1 statements in {}:\n  {}", context.getDisplayName(), report);
+                fail("N+1 statements in " + context.getDisplayName() + ":\n  " + report);
+            }
+        }
+
+        private static QueryBudget budget(ExtensionContext context) {
+            return SpringExtension.getApplicationContext(context).getBean(QueryBudget.class);
+        }
+    }
+}
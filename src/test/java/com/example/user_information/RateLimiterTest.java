@@ -0,0 +1,169 @@
+package com.example.user_information;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.request.WebRequest;
+
+import com.example.user_information.Common.TokenBucketLimiter;
+import com.example.user_information.Config.RateLimitInterceptor;
+import com.example.user_information.Controller.UserController;
+import com.example.user_information.DTO.UserLookupDTO;
+import com.example.user_information.DTO.UserResponseDTO;
+import com.example.user_information.Exception.GlobalExceptionHandler;
+import com.example.user_information.Service.UserService;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+
+public class RateLimiterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    public void testBurstThenRefill() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(new long[] { 3 }, new double[] { 1 }, 10);
+        long now = 42 * SECOND;
+
+        assertEquals(2, limiter.tryAcquire("a", 0, now).remaining());
+        assertEquals(1, limiter.tryAcquire("a", 0, now).remaining());
+        TokenBucketLimiter.Decision last = limiter.tryAcquire("a", 0, now);
+        assertTrue(last.allowed());
+        assertEquals(0, last.remaining());
+        assertEquals(3 * SECOND, last.resetNanos());
+
+        TokenBucketLimiter.Decision denied = limiter.tryAcquire("a", 0, now);
+        assertFalse(denied.allowed());
+        assertEquals(SECOND, denied.retryAfterNanos());
+
+        // Other clients are not affected, one token is back a second later
+        assertTrue(limiter.tryAcquire("b", 0, now).allowed());
+        assertTrue(limiter.tryAcquire("a", 0, now + SECOND).allowed());
+        assertFalse(limiter.tryAcquire("a", 0, now + SECOND).allowed());
+    }
+
+    @Test
+    public void testIdleClientsEvictedAndOverflowShared() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(new long[] { 1, 1 }, new double[] { 1, 1 }, 2);
+        long now = 0;
+
+        assertTrue(limiter.tryAcquire("a", 0, now).allowed());
+        assertTrue(limiter.tryAcquire("b", 1, now).allowed());
+        // Over max-clients: c and d share one bucket per operation
+        assertTrue(limiter.tryAcquire("c", 0, now).allowed());
+        assertFalse(limiter.tryAcquire("d", 0, now).allowed());
+        assertEquals(3, limiter.size());
+
+        assertEquals(3, limiter.evictIdle(now + SECOND / 2));
+        assertEquals(0, limiter.evictIdle(now + SECOND));
+        assertTrue(limiter.tryAcquire("d", 0, now + SECOND).allowed());
+    }
+
+    @Test
+    public void testEvictionRacingATakeKeepsTheToken() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            for (int round = 0; round < 20_000; round++) {
+                TokenBucketLimiter limiter = new TokenBucketLimiter(new long[] { 1 }, new double[] { 1 }, 10);
+                long now = 0;
+                assertTrue(limiter.tryAcquire("a", 0, now - 2 * SECOND).allowed());
+
+                // The bucket is full again at now: a take and an eviction race for it
+                CyclicBarrier start = new CyclicBarrier(2);
+                CompletableFuture<Boolean> take = CompletableFuture.supplyAsync(() -> {
+                    await(start);
+                    return limiter.tryAcquire("a", 0, now).allowed();
+                }, executor);
+                CompletableFuture<Integer> evict = CompletableFuture.supplyAsync(() -> {
+                    await(start);
+                    return limiter.evictIdle(now);
+                }, executor);
+                assertTrue(take.get());
+                evict.get();
+
+                // Whichever won, the token taken above must not come back
+                assertFalse(limiter.tryAcquire("a", 0, now).allowed(), "round " + round);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testHeadersAnd429PerClientAndOperation() throws Exception {
+        UserService userService = mock(UserService.class);
+        UserResponseDTO john = new UserResponseDTO("John", "john@example.com", "9876543210", 1L, 0L);
+        when(userService.getUserById(1L)).thenReturn(john);
+        when(userService.getUsersByIds(List.of(1L))).thenReturn(new UserLookupDTO(Map.of(1L, john), List.of()));
+
+        TokenBucketLimiter limiter = new TokenBucketLimiter(new long[] { 2, 5 }, new double[] { 0.5, 0.5 }, 10);
+        Counter rejected = new SimpleMeterRegistry().counter("rejected");
+        RateLimitInterceptor interceptor = new RateLimitInterceptor(limiter, Map.of(
+                UserController.class.getMethod("getUserById", Long.class, WebRequest.class), 0,
+                UserController.class.getMethod("getUsersByIds", List.class, HttpServletRequest.class), 1),
+                List.of("integrator-1"), rejected);
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new UserController(userService, null))
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .addInterceptors(interceptor)
+                .build();
+
+        mockMvc.perform(get("/user/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-RateLimit-Limit", "2"))
+                .andExpect(header().string("X-RateLimit-Remaining", "1"));
+        mockMvc.perform(get("/user/1"))
+                .andExpect(header().string("X-RateLimit-Remaining", "0"))
+                .andExpect(header().string("X-RateLimit-Reset", "4"));
+        mockMvc.perform(get("/user/1"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "2"))
+                .andExpect(header().string("X-RateLimit-Remaining", "0"))
+                .andExpect(jsonPath("$.status").value("ERROR"))
+                .andExpect(jsonPath("$.message").value("Too many requests"))
+                .andExpect(jsonPath("$.data[0]").value("Rate limit of getUserById exceeded"));
+
+        // An issued API key, or another operation, has its own bucket
+        mockMvc.perform(get("/user/1").header(RateLimitInterceptor.API_KEY_HEADER, "integrator-1"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/user/by-ids").param("ids", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-RateLimit-Limit", "5"))
+                .andExpect(header().string("X-RateLimit-Remaining", "4"))
+                .andExpect(jsonPath("$.data.users['1'].name").value("John"));
+
+        // A key that was never issued does not escape the address's bucket
+        mockMvc.perform(get("/user/1").header(RateLimitInterceptor.API_KEY_HEADER, "made-up-1"))
+                .andExpect(status().isTooManyRequests());
+
+        assertEquals(2, rejected.count());
+        // The address and the issued key, nothing for the made-up one
+        assertEquals(2, limiter.size());
+    }
+
+    private static void await(CyclicBarrier barrier) {
+        try {
+            barrier.await(5, TimeUnit.SECONDS);
+        } catch (Exception ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
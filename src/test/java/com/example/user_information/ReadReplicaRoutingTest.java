@@ -0,0 +1,177 @@
+package com.example.user_information;
+
+import static org.hamcrest.Matchers.contains;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.cookie;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.example.user_information.Config.CacheConfig;
+import com.example.user_information.Config.ReadYourWritesFilter;
+import com.example.user_information.Config.ReplicaRoutingDataSource;
+import com.example.user_information.Entity.ReplicaHeartbeat;
+import com.example.user_information.Entity.User;
+import com.example.user_information.Repository.UserRepo;
+import com.example.user_information.Service.UserCounter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariDataSource;
+
+import jakarta.servlet.http.Cookie;
+
+/*
+ * Two H2 databases stand in for the primary and a replica. Nothing replicates between them, so rows written
+ * to only one side show which database served a request.
+ */
+@SpringBootTest(properties = {
+        "user.datasource.replica-urls=jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1",
+        "user.datasource.replica-check-interval=1h"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class ReadReplicaRoutingTest {
+
+    private static final long REPLICA_ONLY_ID = 900_001L;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepo userRepo;
+
+    @Autowired
+    private HikariDataSource primaryDataSource;
+
+    @Autowired
+    private ReplicaRoutingDataSource routing;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private UserCounter userCounter;
+
+    private JdbcTemplate replica;
+
+    @BeforeEach
+    void setUp() {
+        userRepo.deleteAll();
+        cacheManager.getCache(CacheConfig.USERS_CACHE).clear();
+
+        // The replica gets the primary's schema, then one row the primary does not have
+        replica = new JdbcTemplate(new DriverManagerDataSource("jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1", "sa", ""));
+        replica.execute("drop all objects");
+        for (String ddl : new JdbcTemplate(primaryDataSource).queryForList("script nodata table \"user\"", String.class)) {
+            if (ddl.startsWith("CREATE MEMORY TABLE") || ddl.startsWith("CREATE CACHED TABLE")
+                    || ddl.startsWith("ALTER TABLE")) {
+                replica.execute(ddl);
+            }
+        }
+        replica.update("insert into \"user\" (id, name, age, email, phone_no, password, version) "
+                + "values (?, 'Replica Only', 40, 'replica@example.com', '9000000001', 'x', 0)", REPLICA_ONLY_ID);
+        replica.execute("create table " + ReplicaHeartbeat.TABLE
+                + " (id int not null primary key, beat bigint not null)");
+        replica.update("insert into " + ReplicaHeartbeat.TABLE + " (id, beat) values (1, ?)",
+                System.currentTimeMillis());
+
+        routing.checkReplicas();
+        assertEquals(1, routing.replicasInRotation());
+    }
+
+    @Test
+    void testReadsUseReplica_WritesAndReadYourWritesUsePrimary() throws Exception {
+        mockMvc.perform(get("/user").param("count", "exact"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.content[*].name", contains("Replica Only")));
+        mockMvc.perform(get("/user").param("after", ""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.content[*].name", contains("Replica Only")));
+        // A multi-get is a read even as a POST: no primary-until cookie
+        mockMvc.perform(post("/user/by-ids")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[" + REPLICA_ONLY_ID + "]"))
+                .andExpect(status().isOk())
+                .andExpect(cookie().doesNotExist(ReadYourWritesFilter.COOKIE));
+
+        MvcResult created = mockMvc.perform(post("/user")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new User(null, "Alice", 23, "alice@example.com", "9876543212", "Pass@1234"))))
+                .andExpect(status().isCreated())
+                .andExpect(cookie().exists(ReadYourWritesFilter.COOKIE))
+                .andReturn();
+        Cookie primaryUntil = created.getResponse().getCookie(ReadYourWritesFilter.COOKIE);
+
+        assertEquals(1, new JdbcTemplate(primaryDataSource).queryForObject("select count(*) from \"user\"", Long.class));
+        assertEquals(0, replica.queryForObject("select count(*) from \"user\" where name = 'Alice'", Long.class));
+
+        mockMvc.perform(get("/user").param("count", "exact"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.content[*].name", contains("Replica Only")));
+        mockMvc.perform(get("/user").param("count", "exact").cookie(primaryUntil))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.content[*].name", contains("Alice")));
+        mockMvc.perform(get("/user").param("count", "exact").header(ReadYourWritesFilter.HEADER, "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.content[*].name", contains("Alice")));
+    }
+
+    @Test
+    void testCachedLoadsUsePrimary() throws Exception {
+        // The row is only on the replica: an entry loaded from it would outlive the eviction of a later write
+        mockMvc.perform(get("/user/{id}", REPLICA_ONLY_ID)).andExpect(status().isNotFound());
+        mockMvc.perform(get("/user/by-ids").param("ids", String.valueOf(REPLICA_ONLY_ID)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.missing[0]").value(REPLICA_ONLY_ID));
+    }
+
+    @Test
+    void testCountReconcileUsesPrimary() {
+        // The replica has one row the primary does not
+        userCounter.reconcile();
+        assertEquals(0, userCounter.get());
+    }
+
+    @Test
+    void testReplicaLeavesRotationWhenLaggingOrFailing() throws Exception {
+        userRepo.save(new User(null, "Alice", 23, "alice@example.com", "9876543212", "Pass@1234"));
+
+        // Heartbeat a minute old: past the default 10s maximum lag
+        replica.update("update " + ReplicaHeartbeat.TABLE + " set beat = ?",
+                System.currentTimeMillis() - 60_000);
+        routing.checkReplicas();
+        assertEquals(0, routing.replicasInRotation());
+        mockMvc.perform(get("/user").param("count", "exact"))
+                .andExpect(jsonPath("$.data.content[*].name", contains("Alice")));
+
+        // Caught up again
+        replica.update("update " + ReplicaHeartbeat.TABLE + " set beat = ?",
+                System.currentTimeMillis());
+        routing.checkReplicas();
+        assertEquals(1, routing.replicasInRotation());
+        mockMvc.perform(get("/user").param("count", "exact"))
+                .andExpect(jsonPath("$.data.content[*].name", contains("Replica Only")));
+
+        // Failing check query
+        replica.execute("drop table " + ReplicaHeartbeat.TABLE);
+        routing.checkReplicas();
+        assertEquals(0, routing.replicasInRotation());
+    }
+}
@@ -0,0 +1,264 @@
+package com.example.user_information;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import com.example.user_information.Entity.User;
+import com.example.user_information.Repository.UserRepo;
+import com.example.user_information.Service.UserUniquenessIndex;
+
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+
+/*
+ * Compares platform-thread and virtual-thread request execution under 1k+ concurrent clients.
+ *
+ * Opt-in, it boots the application twice on a random port:
+ *   mvn test -Dtest=RequestExecutionLoadTest -Dloadtest=true
+ * Tunables: -Dloadtest.clients (1000), -Dloadtest.seconds (15), -Dloadtest.db-latency-ms (2).
+ *
+ * In-memory H2 answers in microseconds, so every JDBC statement is delayed by db-latency-ms to behave like
+ * a database across the network. The mix is 80% GET /user/{id} (served from the cache after warm-up) and
+ * 20% GET /user?page= (two statements on a pooled connection). The table goes to
+ * target/load-tests/RequestExecutionLoadTest.txt.
+ */
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+public class RequestExecutionLoadTest {
+
+    static final int CLIENTS = Integer.getInteger("loadtest.clients", 1_000);
+    static final int SECONDS = Integer.getInteger("loadtest.seconds", 15);
+    static final long DB_LATENCY_MS = Long.getLong("loadtest.db-latency-ms", 2);
+    static final int USERS = 1_000;
+
+    @Test
+    void compareExecutionModes() throws Exception {
+        Result platform = run(false);
+        Result virtual = run(true);
+
+        LoadTestReport report = new LoadTestReport()
+                .line("%d clients, %d s, %d ms per JDBC statement, Hikari pool 10", CLIENTS, SECONDS, DB_LATENCY_MS)
+                .line("%s", Result.HEADER)
+                .line("%s", platform)
+                .line("%s", virtual);
+        virtual.pinnedFrames.forEach((frame, count) -> report.line("  pinned %5d x %s", count, frame));
+        report.write(getClass());
+
+        assertEquals(0, platform.errors, "platform-thread mode had failed requests");
+        assertEquals(0, virtual.errors, "virtual-thread mode had failed requests");
+        assertTrue(virtual.pinnedFrames.keySet().stream().noneMatch(frame -> frame.startsWith("com.example")),
+                "application code pinned a carrier thread");
+    }
+
+    private Result run(boolean virtualThreads) throws Exception {
+        String mode = virtualThreads ? "virtual" : "platform";
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(JUnitApplication.class)
+                .profiles("test")
+                .initializers(ctx -> ctx.getBeanFactory().addBeanPostProcessor(new LatencyPostProcessor()))
+                .run("--server.port=0",
+                        "--spring.threads.virtual.enabled=" + virtualThreads,
+                        "--spring.datasource.url=jdbc:h2:mem:load_" + mode + ";DB_CLOSE_DELAY=-1",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.org.springframework.web=INFO",
+                        // Every client shares one address and would be throttled as a single client
+                        "--user.rate-limit.enabled=false",
+                        "--user.admission.enabled=false");
+
+        RecordingStream pinned = new RecordingStream();
+        Map<String, Long> pinnedFrames = new TreeMap<>();
+        try (context; pinned) {
+            List<Long> ids = seed(context);
+            String base = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+
+            pinned.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO).withStackTrace();
+            pinned.onEvent("jdk.VirtualThreadPinned", event -> {
+                String frame = event.getStackTrace() == null ? "<unknown>" : event.getStackTrace().getFrames().stream()
+                        .map(RequestExecutionLoadTest::describe)
+                        .filter(name -> !name.startsWith("java.") && !name.startsWith("jdk."))
+                        .findFirst().orElse("<jdk>");
+                synchronized (pinnedFrames) {
+                    pinnedFrames.merge(frame, 1L, Long::sum);
+                }
+            });
+            pinned.startAsync();
+
+            load(base, ids, Duration.ofSeconds(5));
+            Result result = load(base, ids, Duration.ofSeconds(SECONDS));
+            result.mode = mode;
+            synchronized (pinnedFrames) {
+                result.pinnedFrames = new TreeMap<>(pinnedFrames);
+            }
+            return result;
+        }
+    }
+
+    static List<Long> seed(ConfigurableApplicationContext context) {
+        UserRepo userRepo = context.getBean(UserRepo.class);
+        List<User> users = new ArrayList<>(USERS);
+        for (int i = 0; i < USERS; i++) {
+            users.add(new User(null, "User " + i, 30, "load" + i + "@example.com", String.valueOf(6_000_000_000L + i), "Pass@1234"));
+        }
+        List<Long> ids = userRepo.saveAll(users).stream().map(User::getId).toList();
+        context.getBean(UserUniquenessIndex.class).rebuild();
+        return ids;
+    }
+
+    static Result load(String base, List<Long> ids, Duration duration) throws InterruptedException {
+        LongAdder errors = new LongAdder();
+        long[][] latencies = new long[CLIENTS][];
+        long deadline = System.nanoTime() + duration.toNanos();
+
+        // Declared first so it is closed last, after every client has finished
+        try (HttpClient http = HttpClient.newBuilder()
+                     .version(HttpClient.Version.HTTP_1_1)
+                     .executor(Executors.newVirtualThreadPerTaskExecutor())
+                     .connectTimeout(Duration.ofSeconds(10))
+                     .build();
+             ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < CLIENTS; c++) {
+                int client = c;
+                clients.submit(() -> {
+                    long[] samples = new long[1_024];
+                    int count = 0;
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    while (System.nanoTime() < deadline) {
+                        String path = random.nextInt(10) < 8
+                                ? "/user/" + ids.get(random.nextInt(ids.size()))
+                                : "/user?page=" + random.nextInt(USERS / 20) + "&size=20";
+                        HttpRequest request = HttpRequest.newBuilder(URI.create(base + path))
+                                .timeout(Duration.ofSeconds(30)).GET().build();
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() != 200) {
+                                errors.increment();
+                            }
+                        } catch (Exception ex) {
+                            errors.increment();
+                        }
+                        if (count == samples.length) {
+                            samples = Arrays.copyOf(samples, count * 2);
+                        }
+                        samples[count++] = System.nanoTime() - start;
+                    }
+                    latencies[client] = Arrays.copyOf(samples, count);
+                });
+            }
+        }
+
+        long[] all = Arrays.stream(latencies).flatMapToLong(Arrays::stream).sorted().toArray();
+        Result result = new Result();
+        result.requests = all.length;
+        result.errors = errors.sum();
+        result.throughput = all.length / (double) duration.toSeconds();
+        result.p50 = percentile(all, 0.50);
+        result.p99 = percentile(all, 0.99);
+        result.max = all.length == 0 ? 0 : all[all.length - 1] / 1_000_000.0;
+        return result;
+    }
+
+    private static String describe(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName();
+    }
+
+    static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[(int) Math.min(sorted.length - 1, Math.ceil(quantile * sorted.length) - 1)] / 1_000_000.0;
+    }
+
+    static final class Result {
+
+        static final String HEADER = String.format("%-9s %10s %8s %10s %9s %9s %9s",
+                "mode", "requests", "errors", "req/s", "p50 ms", "p99 ms", "max ms");
+
+        String mode;
+        long requests;
+        long errors;
+        double throughput;
+        double p50;
+        double p99;
+        double max;
+        Map<String, Long> pinnedFrames = Map.of();
+
+        @Override
+        public String toString() {
+            return String.format("%-9s %10d %8d %10.0f %9.1f %9.1f %9.1f", mode, requests, errors, throughput, p50, p99, max);
+        }
+    }
+
+    // Wraps the pooled DataSource so every statement execution pays a network-like round trip
+    static final class LatencyPostProcessor implements BeanPostProcessor {
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (bean instanceof DataSource dataSource && !(bean instanceof DelegatingDataSource)) {
+                return new DelegatingDataSource(dataSource) {
+                    @Override
+                    public Connection getConnection() throws SQLException {
+                        return delayed(Connection.class, super.getConnection(), this::wrapStatement);
+                    }
+
+                    private Object wrapStatement(Object result) {
+                        return result instanceof Statement statement
+                                ? delayed(statementType(statement), statement, Function.identity())
+                                : result;
+                    }
+                };
+            }
+            return bean;
+        }
+
+        private static Class<? extends Statement> statementType(Statement statement) {
+            if (statement instanceof java.sql.CallableStatement) {
+                return java.sql.CallableStatement.class;
+            }
+            return statement instanceof java.sql.PreparedStatement ? java.sql.PreparedStatement.class : Statement.class;
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <T> T delayed(Class<? extends T> type, T target, Function<Object, Object> wrapResult) {
+            return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type }, (proxy, method, args) -> {
+                if (method.getName().startsWith("execute")) {
+                    Thread.sleep(DB_LATENCY_MS);
+                }
+                try {
+                    return wrapResult.apply(method.invoke(target, args));
+                } catch (InvocationTargetException ex) {
+                    throw ex.getTargetException();
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.user_information;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.user_information.Common.TrigramIndex;
+
+public class TrigramIndexTest {
+
+    private static List<Long> ids(List<TrigramIndex.Hit> hits) {
+        return hits.stream().map(TrigramIndex.Hit::id).toList();
+    }
+
+    @Test
+    public void testSubstringMatchIgnoresCaseAndRanksPrefixesFirst() {
+        TrigramIndex index = new TrigramIndex();
+        index.put(1, "Mary Johnson", "mary@example.com");
+        index.put(2, "John", "john@example.com");
+        index.put(3, "Alice", "alice@example.org");
+
+        assertEquals(List.of(2L, 1L), ids(index.search("JOHN", 10)));
+        assertEquals(List.of(1L, 2L, 3L), ids(index.search("example", 10)));
+        assertEquals(List.of(3L), ids(index.search("e@example.o", 10)));
+        assertEquals(List.of(), ids(index.search("xyz", 10)));
+        assertEquals(List.of(2L), ids(index.search("joh", 1)));
+        assertThrows(IllegalArgumentException.class, () -> index.search("jo", 10));
+    }
+
+    @Test
+    public void testUpdateAndRemove() {
+        TrigramIndex index = new TrigramIndex();
+        index.put(1, "John", "john@example.com");
+        index.put(1, "Johnny", "johnny@example.net");
+        index.put(2, "Alice", "alice@example.com");
+
+        assertEquals(List.of(), ids(index.search("example.com", 10).stream()
+                .filter(hit -> hit.id() == 1).toList()));
+        assertEquals("johnny@example.net", index.search("nny", 10).get(0).email());
+
+        index.remove(2);
+        assertEquals(List.of(), ids(index.search("alice", 10)));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    public void testCompactionKeepsLiveUsers() {
+        TrigramIndex index = new TrigramIndex();
+        for (long id = 0; id < 3000; id++) {
+            index.put(id, "User " + id, "user" + id + "@example.com");
+        }
+        long full = index.estimatedBytes();
+        for (long id = 0; id < 3000; id += 2) {
+            index.remove(id);
+        }
+        index.compact();
+
+        assertEquals(1500, index.size());
+        assertEquals(List.of(1001L), ids(index.search("user1001@", 10)));
+        assertEquals(List.of(), ids(index.search("user1000@", 10)));
+        assertTrue(index.estimatedBytes() < full);
+    }
+}
@@ -8,7 +8,6 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.MediaType;
@@ -103,22 +102,22 @@ public class UserControllerServiceTopDownTest {
 
     @Test
     public void testDeleteUser() throws Exception {
-        when(userRepo.findById(1L)).thenReturn(Optional.of(userJohn));
-        doNothing().when(userRepo).delete(userJohn);
+        when(userRepo.deleteRowById(1L)).thenReturn(1);
 
         mockMvc.perform(delete("/user/1"))
                 .andExpect(status().isNoContent());
-        verify(userRepo, times(1)).delete(userJohn);
+        verify(userRepo, times(1)).deleteRowById(1L);
     }
 
     @Test
     public void testGetAllUser_Success() throws Exception {
-        when(userRepo.findAll(PageRequest.of(0, 10, Sort.by("id").ascending())))
-                .thenReturn(new PageImpl<>(List.of(userJohn)));
+        // Approximate count: the page query alone, the total comes from UserCounter
+        when(userRepo.findAllBy(PageRequest.of(0, 10, Sort.by("id").ascending())))
+                .thenReturn(List.of(userJohn));
 
-        mockMvc.perform(get("/user"))
+        mockMvc.perform(get("/user").param("count", "approximate"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.content[0].name").value("John"));
+                .andExpect(jsonPath("$.data.content[0].name").value("John"));
     }
 
 }
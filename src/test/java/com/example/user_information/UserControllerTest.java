@@ -8,9 +8,11 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 
 import com.example.user_information.Common.Status;
 import com.example.user_information.Controller.UserController;
+import com.example.user_information.DTO.UserBatchResultDTO;
 import com.example.user_information.DTO.UserRegisterDTO;
 import com.example.user_information.DTO.UserResponseDTO;
 import com.example.user_information.Exception.ResourceNotFoundException;
+import com.example.user_information.Service.UserImportService;
 import com.example.user_information.Service.UserService;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import org.junit.jupiter.api.BeforeEach;
@@ -37,6 +39,9 @@ public class UserControllerTest {
     @MockitoBean
     private UserService userService;
 
+    @MockitoBean
+    private UserImportService userImportService;
+
     private ObjectMapper objectMapper;
 
     private UserRegisterDTO registerDto;
@@ -104,22 +109,42 @@ public class UserControllerTest {
                                 result.getResolvedException().getMessage()));
     }
 
+    @Test
+    public void testAddUsers_Batch() throws Exception {
+        when(userService.addUsers(anyList())).thenReturn(
+                new ApiResponse<>(207, Status.SUCCESS, "1 users registered, 1 rejected", List.of(
+                        new UserBatchResultDTO(0, Status.SUCCESS, response, null),
+                        new UserBatchResultDTO(1, Status.FAIL, null, List.of("Email already registered"))),
+                        null, null)
+        );
+        mockMvc.perform(post("/user/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(registerDto, registerDto))))
+                .andExpect(status().isMultiStatus())
+                .andExpect(jsonPath("$.path").value("/user/batch"))
+                .andExpect(jsonPath("$.data[0].user.email").value("john@example.com"))
+                .andExpect(jsonPath("$.data[1].status").value("FAIL"))
+                .andExpect(jsonPath("$.data[1].errors[0]").value("Email already registered"));
+    }
+
     @Test
     public void testGetAllUser_success() throws Exception {
         Page<UserResponseDTO> page = new PageImpl<>(List.of(response));
 
-        when(userService.getUsers(any(Pageable.class))).thenReturn(page);
+        when(userService.getUsers(any(Pageable.class), anyBoolean())).thenReturn(page);
 
         mockMvc.perform(get("/user?page=0&size=10&sortBy=id&direction=asc"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.content[0].name").value("John"))
-                .andExpect(jsonPath("$.content[0].email").value("john@example.com"))
-                .andExpect(jsonPath("$.content[0].phoneNo").value("9874546123"));
+                .andExpect(jsonPath("$.data.content[0].name").value("John"))
+                .andExpect(jsonPath("$.data.content[0].email").value("john@example.com"))
+                .andExpect(jsonPath("$.data.content[0].phoneNo").value("9874546123"))
+                .andExpect(jsonPath("$.data.totalElements").value(1))
+                .andExpect(jsonPath("$.data.sort").doesNotExist());
     }
 
     @Test
     public void testGetAllUser_Failed() throws Exception{
-        when(userService.getUsers(any(Pageable.class)))
+        when(userService.getUsers(any(Pageable.class), anyBoolean()))
                 .thenThrow(new ResourceNotFoundException("No USer found."));
         mockMvc.perform(get("/user")
                 .param("page", "0")
@@ -156,7 +181,7 @@ public class UserControllerTest {
 
     @Test
     public void testUpdateUser_Success() throws Exception {
-        when(userService.updateUser(eq(1L), any(UserRegisterDTO.class)))
+        when(userService.updateUser(eq(1L), any(UserRegisterDTO.class), isNull()))
                 .thenReturn(response);
 
         mockMvc.perform(put("/user/1")
@@ -168,7 +193,7 @@ public class UserControllerTest {
 
     @Test
     public void testUpdateUser_NotFound() throws Exception {
-        when(userService.updateUser(eq(2L), any(UserRegisterDTO.class)))
+        when(userService.updateUser(eq(2L), any(UserRegisterDTO.class), isNull()))
                 .thenThrow(new ResourceNotFoundException("User not found with Id 2"));
 
         mockMvc.perform(put("/user/2")
@@ -179,7 +204,7 @@ public class UserControllerTest {
 
     @Test
     public void testDeleteUser_Success() throws Exception{
-        doNothing().when(userService).deleteUserById(1L);
+        doNothing().when(userService).deleteUserById(1L, null);
 
         mockMvc.perform(delete("/user/1"))
                 .andExpect(status().isNoContent());
@@ -188,7 +213,7 @@ public class UserControllerTest {
     @Test
     public void testDeleteUser_NotFound() throws Exception {
         doThrow(new ResourceNotFoundException("User not found with Id 2"))
-                .when(userService).deleteUserById(2L);
+                .when(userService).deleteUserById(2L, null);
 
         mockMvc.perform(delete("/user/2"))
                 .andExpect(status().isNotFound());
@@ -0,0 +1,55 @@
+package com.example.user_information;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import com.example.user_information.Common.UserETags;
+import com.example.user_information.DTO.UserResponseDTO;
+
+public class UserETagsTest {
+
+    @Test
+    public void testPageTagIsStableForTheSameRows() {
+        assertEquals(UserETags.of(page(PageRequest.of(0, 10), 1L, 3L)),
+                UserETags.of(page(PageRequest.of(0, 10), 1L, 3L)));
+    }
+
+    @Test
+    public void testPageTagChangesWithAnyRowVersion() {
+        // 31 * id + version is the same for both, the digest is not
+        assertNotEquals(UserETags.of(page(PageRequest.of(0, 10), 2L, 0L)),
+                UserETags.of(page(PageRequest.of(0, 10), 1L, 31L)));
+        assertNotEquals(UserETags.of(page(PageRequest.of(0, 10), 1L, 3L)),
+                UserETags.of(page(PageRequest.of(0, 10), 1L, 4L)));
+    }
+
+    @Test
+    public void testPageTagDependsOnPageSizeAndSort() {
+        String tag = UserETags.of(page(PageRequest.of(0, 10), 1L, 3L));
+
+        assertNotEquals(tag, UserETags.of(page(PageRequest.of(1, 10), 1L, 3L)));
+        assertNotEquals(tag, UserETags.of(page(PageRequest.of(0, 20), 1L, 3L)));
+        assertNotEquals(tag, UserETags.of(page(PageRequest.of(0, 10, Sort.by("name")), 1L, 3L)));
+        assertNotEquals(UserETags.of(page(PageRequest.of(0, 10, Sort.by("name")), 1L, 3L)),
+                UserETags.of(page(PageRequest.of(0, 10, Sort.by("name").descending()), 1L, 3L)));
+    }
+
+    @Test
+    public void testPageTagNeedsEveryVersion() {
+        assertNull(UserETags.of(page(PageRequest.of(0, 10), 1L, null)));
+    }
+
+    private static Page<UserResponseDTO> page(PageRequest pageable, Long id, Long version) {
+        UserResponseDTO user = new UserResponseDTO("John", "john@example.com", "9876543210", id, version);
+        return new PageImpl<>(List.of(user), pageable, 100);
+    }
+}
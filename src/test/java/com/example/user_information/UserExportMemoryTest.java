@@ -0,0 +1,80 @@
+package com.example.user_information;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import com.example.user_information.Common.ExportFormat;
+import com.example.user_information.Entity.User;
+import com.example.user_information.Repository.UserRepo;
+import com.example.user_information.Service.UserService;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = "spring.jpa.show-sql=false")
+public class UserExportMemoryTest {
+
+    private static final int USERS = 50_000;
+
+    @Autowired
+    private UserRepo userRepo;
+
+    @Autowired
+    private UserService userService;
+
+    @BeforeEach
+    void setUp() {
+        userRepo.deleteAllInBatch();
+        List<User> users = new ArrayList<>(1_000);
+        for (int i = 0; i < USERS; i++) {
+            users.add(new User(null, "User " + i, 30, "user" + i + "@example.com", String.valueOf(6_000_000_000L + i), "Pass@1234"));
+            if (users.size() == 1_000) {
+                userRepo.saveAll(users);
+                users.clear();
+            }
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepo.deleteAllInBatch();
+    }
+
+    @Test
+    void testExport_HeapStaysFlat() throws Exception {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        System.gc();
+        long baseline = memory.getHeapMemoryUsage().getUsed();
+
+        // Discards the bytes, counts lines and samples the live heap every 10k rows
+        long[] lines = {0};
+        long[] peak = {0};
+        OutputStream sink = new OutputStream() {
+            @Override
+            public void write(int b) {
+                if (b == '\n' && ++lines[0] % 10_000 == 0) {
+                    System.gc();
+                    peak[0] = Math.max(peak[0], memory.getHeapMemoryUsage().getUsed() - baseline);
+                }
+            }
+        };
+
+        userService.exportUsers(sink, ExportFormat.NDJSON);
+
+        assertEquals(USERS, lines[0]);
+        assertTrue(peak[0] < 8 * 1024 * 1024, "heap grew by " + peak[0] / 1024 + " KB during export");
+    }
+}
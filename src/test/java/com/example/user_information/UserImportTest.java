@@ -0,0 +1,106 @@
+package com.example.user_information;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.mock.web.MockMultipartFile;
+
+import com.example.user_information.Common.ImportStatus;
+import com.example.user_information.Common.Status;
+import com.example.user_information.DTO.ImportJobDTO;
+import com.example.user_information.DTO.UserBatchResultDTO;
+import com.example.user_information.Exception.ServiceUnavailableException;
+import com.example.user_information.Service.UserImportImpl;
+import com.example.user_information.Service.UserService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+public class UserImportTest {
+
+    private static final String CSV = "name,email,age,password,phoneNo\n"
+            + "Alice,alice@example.com,23,Pass@1234,9876543212\n";
+
+    private final UserService userService = mock(UserService.class);
+
+    @Test
+    public void testSaturatedHashingRetriesTheChunk() {
+        when(userService.addUsers(any()))
+                .thenThrow(new ServiceUnavailableException("Password hashing is saturated, retry later", 0))
+                .thenReturn(new ApiResponse<>(201, Status.SUCCESS, "1 users registered, 0 rejected",
+                        List.of(new UserBatchResultDTO(0, Status.SUCCESS, null, null)), null, LocalDateTime.now()));
+
+        ImportJobDTO job = importCsv(importer(3));
+
+        assertEquals(ImportStatus.COMPLETED, job.getStatus());
+        assertEquals(1, job.getImported());
+        verify(userService, times(2)).addUsers(any());
+    }
+
+    @Test
+    public void testChunkRejectedWhenHashingStaysSaturated() {
+        when(userService.addUsers(any()))
+                .thenThrow(new ServiceUnavailableException("Password hashing is saturated, retry later", 0));
+
+        ImportJobDTO job = importCsv(importer(2));
+
+        // The job goes on, only the chunk's rows are reported
+        assertEquals(ImportStatus.COMPLETED, job.getStatus());
+        assertEquals(1, job.getRejected());
+        assertEquals("Chunk not imported: password hashing stayed saturated",
+                job.getRejectedRows().get(0).getErrors().get(0));
+        verify(userService, times(2)).addUsers(any());
+    }
+
+    @Test
+    public void testConcurrentDuplicateRejectsOnlyThatRow() {
+        String csv = CSV + "Bob,bob@example.com,31,Pass@1234,9876543213\n";
+        when(userService.addUsers(any()))
+                .thenThrow(new DataIntegrityViolationException("Duplicate entry"))
+                .thenReturn(new ApiResponse<>(201, Status.SUCCESS, "1 users registered, 0 rejected",
+                        List.of(new UserBatchResultDTO(0, Status.SUCCESS, null, null)), null, LocalDateTime.now()))
+                .thenThrow(new DataIntegrityViolationException("Duplicate entry"));
+
+        ImportJobDTO job = importCsv(importer(2), csv);
+
+        // The chunk is retried row by row: Alice is imported, only Bob is reported
+        assertEquals(ImportStatus.COMPLETED, job.getStatus());
+        assertEquals(1, job.getImported());
+        assertEquals(1, job.getRejected());
+        assertEquals(3, job.getRejectedRows().get(0).getLine());
+        assertEquals("Email or phone number registered concurrently",
+                job.getRejectedRows().get(0).getErrors().get(0));
+        verify(userService, times(3)).addUsers(any());
+    }
+
+    @Test
+    public void testChunkSizeAboveBatchLimitFailsStartup() {
+        assertThrows(IllegalArgumentException.class, () -> new UserImportImpl(userService, new ObjectMapper(),
+                new SyncTaskExecutor(), 1001, 1000, 5, 1000, Duration.ofHours(1)));
+    }
+
+    private UserImportImpl importer(int maxAttempts) {
+        return new UserImportImpl(userService, new ObjectMapper(), new SyncTaskExecutor(), 1000, 1000, maxAttempts,
+                1000, Duration.ofHours(1));
+    }
+
+    private static ImportJobDTO importCsv(UserImportImpl importer) {
+        return importCsv(importer, CSV);
+    }
+
+    private static ImportJobDTO importCsv(UserImportImpl importer, String csv) {
+        // The synchronous executor has run the job by the time startImport returns
+        ImportJobDTO started = importer.startImport(new MockMultipartFile("file", "users.csv", "text/csv", csv.getBytes()));
+        return importer.getImportJob(started.getJobId());
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.user_information;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.example.user_information.Entity.User;
+import com.example.user_information.Repository.UserRepo;
+
+/*
+ * Inserts/sec with block-allocated ids and JDBC batching, against one INSERT per round trip as IDENTITY
+ * forces (hibernate.jdbc.batch_size=1, everything else the same).
+ *
+ * Opt-in, it boots the application once per mode:
+ *   mvn test -Dtest=UserInsertLoadTest -Dloadtest=true
+ * Tunables: -Dloadtest.users (20000 per round), -Dloadtest.rounds (8), -Dloadtest.db-latency-ms (2).
+ * Users are saved with saveAll in chunks of 1000, one transaction per chunk. Every JDBC execution, a batch
+ * included, is delayed by db-latency-ms like a round trip to a database across the network; a latency of 0
+ * measures in-memory H2 alone. The table goes to target/load-tests/UserInsertLoadTest.txt.
+ */
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+public class UserInsertLoadTest {
+
+    private static final int USERS = Integer.getInteger("loadtest.users", 20_000);
+    private static final int ROUNDS = Integer.getInteger("loadtest.rounds", 8);
+    private static final int CHUNK = 1_000;
+    // Rounds reported as warm: the last ones, after the JIT and the connection pool have warmed up
+    private static final int WARM_ROUNDS = Math.max(1, ROUNDS / 4);
+
+    @Test
+    void compareInsertBatching() {
+        double[] unbatched = run("unbatched", 1);
+        double[] batched = run("batched", 50);
+
+        LoadTestReport report = new LoadTestReport()
+                .line("%d users per round, chunks of %d, %d ms per JDBC execution",
+                        USERS, CHUNK, RequestExecutionLoadTest.DB_LATENCY_MS)
+                .line("%-10s %s", "mode", "inserts/sec per round (last " + WARM_ROUNDS + " warm)");
+        print(report, "unbatched", unbatched);
+        print(report, "batched", batched);
+        report.write(getClass());
+    }
+
+    private static double[] run(String mode, int batchSize) {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(JUnitApplication.class)
+                .profiles("test")
+                .initializers(ctx -> ctx.getBeanFactory().addBeanPostProcessor(
+                        new RequestExecutionLoadTest.LatencyPostProcessor()))
+                .run("--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:insert_" + mode + ";DB_CLOSE_DELAY=-1",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.jpa.properties.hibernate.jdbc.batch_size=" + batchSize);
+        try (context) {
+            UserRepo userRepo = context.getBean(UserRepo.class);
+            double[] rates = new double[ROUNDS];
+            for (int round = 0; round < ROUNDS; round++) {
+                long start = System.nanoTime();
+                for (int from = 0; from < USERS; from += CHUNK) {
+                    List<User> chunk = new ArrayList<>(CHUNK);
+                    for (int i = from; i < Math.min(from + CHUNK, USERS); i++) {
+                        long n = (long) round * USERS + i;
+                        chunk.add(new User(null, "User " + n, 30, "insert" + n + "@example.com",
+                                String.valueOf(6_000_000_000L + n), "Pass@1234"));
+                    }
+                    userRepo.saveAll(chunk);
+                }
+                rates[round] = USERS / ((System.nanoTime() - start) / 1e9);
+            }
+            assertEquals((long) USERS * ROUNDS, userRepo.count());
+            return rates;
+        }
+    }
+
+    private static void print(LoadTestReport report, String mode, double[] rates) {
+        StringBuilder line = new StringBuilder(String.format("%-10s", mode));
+        for (int round = 0; round < rates.length; round++) {
+            line.append(String.format(round == rates.length - WARM_ROUNDS ? " | %8.0f" : " %8.0f", rates[round]));
+        }
+        report.line("%s", line);
+    }
+}
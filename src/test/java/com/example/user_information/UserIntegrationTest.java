@@ -1,24 +1,54 @@
 package com.example.user_information;
 
+import com.example.user_information.Config.AdminAccessInterceptor;
+import com.example.user_information.Common.UserETags;
+import com.example.user_information.DTO.UserPatchDTO;
+import com.example.user_information.DTO.UserRegisterDTO;
 import com.example.user_information.Entity.User;
+import com.example.user_information.Exception.PreconditionFailedException;
 import com.example.user_information.Repository.UserRepo;
+import com.example.user_information.Service.UserService;
+import com.example.user_information.Service.UserCounter;
+import com.example.user_information.Service.UserSearchIndex;
+import com.example.user_information.Service.UserUniquenessIndex;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
 @AutoConfigureMockMvc
 @ActiveProfiles("test")
+@Import(QueryBudget.Config.class)
+@ExtendWith(QueryBudget.Extension.class)
 public class UserIntegrationTest {
 
     @Autowired
@@ -30,6 +60,21 @@ public class UserIntegrationTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private UserUniquenessIndex uniquenessIndex;
+
+    @Autowired
+    private UserSearchIndex searchIndex;
+
+    @Autowired
+    private UserCounter userCounter;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private QueryBudget queries;
+
     private User userJohn;
     private User userAlice;
 
@@ -41,6 +86,10 @@ public class UserIntegrationTest {
         userAlice = new User(null, "Alice", 23, "alice@example.com", "9876543212", "Pass@1234");
 
         userRepo.save(userJohn);
+        // Rows seeded through the repository bypass UserService, so refresh the in-memory index
+        uniquenessIndex.rebuild();
+        searchIndex.rebuild();
+        userCounter.reconcile();
     }
 
     @Test
@@ -53,6 +102,32 @@ public class UserIntegrationTest {
                 .andExpect(jsonPath("$.data.email").value("alice@example.com"));
     }
 
+    @Test
+    void testAddUser_StoresBCryptHash() throws Exception {
+        mockMvc.perform(post("/user")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(userAlice)))
+                .andExpect(status().isCreated());
+
+        String stored = userRepo.findAll().stream()
+                .filter(user -> user.getEmail().equals("alice@example.com"))
+                .findFirst().orElseThrow().getPassword();
+        assertTrue(stored.startsWith("$2a$04$"));
+    }
+
+    @Test
+    void testUpdateUser_PasswordOnlyChangeBumpsVersion() throws Exception {
+        userJohn.setPassword("Other@1224");
+
+        mockMvc.perform(put("/user/{id}", userJohn.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(userJohn)))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"" + userJohn.getId() + ".1\""));
+
+        assertEquals(1, userRepo.findById(userJohn.getId()).orElseThrow().getVersion());
+    }
+
     @Test
     void testAddUser_DuplicateEmail() throws Exception{
         User newUser = new User(null, "Doe", 30, "john@example.com", "8897564321", "Pass@12343");
@@ -66,15 +141,172 @@ public class UserIntegrationTest {
                 .andExpect(jsonPath("$.data[0]").value("Email already registered"));
     }
 
+    @Test
+    void testAddUser_DuplicatePhoneCaughtByUniqueKey() throws Exception {
+        // Saved behind the index's back: only the unique key can reject the second registration
+        userRepo.save(userAlice);
+        UserRegisterDTO dto = new UserRegisterDTO("Eve", "eve@example.com", 28, "Pass@1234", userAlice.getPhoneNo());
+
+        mockMvc.perform(post("/user")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Business validation failed"))
+                .andExpect(jsonPath("$.data[0]").value("Phone number already registered"));
+    }
+
+    @Test
+    void testAddUser_ConcurrentRegistrationsKeepEmailUnique() throws Exception {
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < threads; i++) {
+                UserRegisterDTO dto = new UserRegisterDTO("Racer" + i, "race@example.com", 30, "Pass@1234", "70000000" + i);
+                results.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        userService.addUser(dto);
+                        return true;
+                    } catch (RuntimeException ex) {
+                        return false;
+                    }
+                }));
+            }
+            start.countDown();
+            int registered = 0;
+            for (Future<Boolean> result : results) {
+                registered += result.get() ? 1 : 0;
+            }
+            assertEquals(1, registered);
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, userRepo.findAll().stream().filter(u -> u.getEmail().equals("race@example.com")).count());
+    }
+
+    @Test
+    void testAddUsers_Batch() throws Exception {
+        List<UserRegisterDTO> batch = List.of(
+                new UserRegisterDTO("Alice", "alice@example.com", 23, "Pass@1234", "9876543212"),
+                new UserRegisterDTO("Doe", "john@example.com", 30, "Pass@1234", "8897564321"),
+                new UserRegisterDTO("Bob", "bob@example.com", 31, "weak", "8897564322"));
+
+        mockMvc.perform(post("/user/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(batch)))
+                .andExpect(status().isMultiStatus())
+                .andExpect(jsonPath("$.data[0].status").value("SUCCESS"))
+                .andExpect(jsonPath("$.data[1].errors[0]").value("Email already registered"))
+                .andExpect(jsonPath("$.data[2].status").value("FAIL"));
+
+        assertEquals(2, userRepo.count());
+    }
+
     @Test
     void testGetAllUser_Success() throws Exception{
         mockMvc.perform(get("/user")
                 .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.content").isArray())
-                .andExpect(jsonPath("$.content.length()").value(1))
-                .andExpect(jsonPath("$.content[0].email").value("john@example.com"))
-                .andExpect(jsonPath("$.totalElements").value(1));
+                .andExpect(jsonPath("$.data.content").isArray())
+                .andExpect(jsonPath("$.data.content.length()").value(1))
+                .andExpect(jsonPath("$.data.content[0].email").value("john@example.com"))
+                .andExpect(jsonPath("$.data.totalElements").value(1))
+                .andExpect(jsonPath("$.data.totalPages").value(1))
+                .andExpect(jsonPath("$.data.page").value(0))
+                .andExpect(jsonPath("$.data.size").value(10))
+                .andExpect(jsonPath("$.data.pageable").doesNotExist())
+                .andExpect(jsonPath("$.status").value("SUCCESS"))
+                .andExpect(jsonPath("$.path").value("/user"));
+    }
+
+    @Test
+    void testGetUsers_CursorPagination() throws Exception {
+        userRepo.save(userAlice);
+        userRepo.save(new User(null, "Bob", 31, "bob@example.com", "8897564322", "Pass@1234"));
+
+        String body = mockMvc.perform(get("/user")
+                        .param("after", "")
+                        .param("size", "2")
+                        .param("sortBy", "name")
+                        .param("direction", "desc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("SUCCESS"))
+                .andExpect(jsonPath("$.path").value("/user"))
+                .andExpect(jsonPath("$.data.content[0].name").value("John"))
+                .andExpect(jsonPath("$.data.content[1].name").value("Bob"))
+                .andExpect(jsonPath("$.data.hasNext").value(true))
+                .andReturn().getResponse().getContentAsString();
+
+        String cursor = objectMapper.readTree(body).get("data").get("nextCursor").asText();
+
+        mockMvc.perform(get("/user").param("after", cursor).param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.content.length()").value(1))
+                .andExpect(jsonPath("$.data.content[0].name").value("Alice"))
+                .andExpect(jsonPath("$.data.hasNext").value(false));
+    }
+
+    @Test
+    void testGetUsers_InvalidCursor() throws Exception {
+        mockMvc.perform(get("/user").param("after", "not-a-cursor"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.data[0]").value("Invalid cursor"));
+    }
+
+    @Test
+    void testImportUsers_Csv() throws Exception {
+        String csv = "name,email,age,password,phoneNo\n"
+                + "Alice,alice@example.com,23,Pass@1234,9876543212\n"
+                + "Doe,john@example.com,30,Pass@1234,8897564321\n"
+                + "Bob,bob@example.com,abc,Pass@1234,8897564322\n"
+                + "\"Smith, Ann\",ann@example.com,41,Pass@1234,8897564323\n";
+        MockMultipartFile file = new MockMultipartFile("file", "users.csv", "text/csv", csv.getBytes());
+
+        String body = mockMvc.perform(multipart("/user/import").file(file))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.data.status").value("RUNNING"))
+                .andReturn().getResponse().getContentAsString();
+        String jobId = objectMapper.readTree(body).get("data").get("jobId").asText();
+
+        String status = "RUNNING";
+        for (int i = 0; i < 100 && status.equals("RUNNING"); i++) {
+            Thread.sleep(50);
+            body = mockMvc.perform(get("/user/import/{jobId}", jobId))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            status = objectMapper.readTree(body).get("data").get("status").asText();
+        }
+
+        mockMvc.perform(get("/user/import/{jobId}", jobId))
+                .andExpect(jsonPath("$.data.status").value("COMPLETED"))
+                .andExpect(jsonPath("$.data.processed").value(4))
+                .andExpect(jsonPath("$.data.imported").value(2))
+                .andExpect(jsonPath("$.data.rejected").value(2))
+                // malformed rows are reported as they are read, validation failures when their chunk is flushed
+                .andExpect(jsonPath("$.data.rejectedRows[0].line").value(4))
+                .andExpect(jsonPath("$.data.rejectedRows[0].errors[0]").value("Malformed record: Age must be a number"))
+                .andExpect(jsonPath("$.data.rejectedRows[1].line").value(3))
+                .andExpect(jsonPath("$.data.rejectedRows[1].errors[0]").value("Email already registered"));
+
+        assertEquals(3, userRepo.count());
+    }
+
+    @Test
+    void testExportUsers_Csv() throws Exception {
+        userRepo.save(new User(null, "Doe, Jane", 29, "jane@example.com", "8897564323", "Pass@1234"));
+
+        MvcResult result = mockMvc.perform(get("/user/export").accept("text/csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "text/csv"))
+                .andExpect(content().string("name,email,phoneNo\n"
+                        + "John,john@example.com,987676543\n"
+                        + "\"Doe, Jane\",jane@example.com,8897564323\n"));
     }
 
     @Test
@@ -99,6 +331,126 @@ public class UserIntegrationTest {
                 .andExpect(jsonPath("$.phoneNo").value("987676543"));
     }
 
+    @Test
+    void testPatchUser_WritesOnlyChangedColumns() throws Exception {
+        QueryBudget.Usage usage = queries.measure(() -> mockMvc.perform(patch("/user/{id}", userJohn.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"John Doe\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("John Doe"))
+                .andExpect(jsonPath("$.email").value("john@example.com"))
+                .andExpect(header().string("ETag", "\"" + userJohn.getId() + ".1\"")));
+
+        List<String> updates = usage.getStatements().stream().filter(sql -> sql.startsWith("update")).toList();
+        assertEquals(1, updates.size());
+        assertTrue(updates.get(0).contains("name=?"), updates.get(0));
+        assertTrue(!updates.get(0).contains("email") && !updates.get(0).contains("password"), updates.get(0));
+        assertTrue(updates.get(0).contains("version=?"), updates.get(0));
+
+        // Evicted by the patch, the next read loads the new version
+        mockMvc.perform(get("/user/{id}", userJohn.getId()))
+                .andExpect(jsonPath("$.name").value("John Doe"));
+
+        mockMvc.perform(patch("/user/{id}", userJohn.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"phoneNo\":\"12ab\"}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testPatchUser_ConcurrentPatchersLoseNoUpdate() throws Exception {
+        int threads = 8;
+        List<Integer> statuses = patchConcurrently(threads, null);
+
+        // Every accepted patch bumped the version exactly once: none was silently overwritten
+        long patched = statuses.stream().filter(status -> status == 200).count();
+        assertEquals(threads, patched + statuses.stream().filter(status -> status == 409).count(), statuses.toString());
+        assertEquals(patched, userRepo.findById(userJohn.getId()).orElseThrow().getVersion());
+    }
+
+    @Test
+    void testPatchUser_ConcurrentPatchersWithIfMatch() throws Exception {
+        int threads = 8;
+        List<Integer> statuses = patchConcurrently(threads, "\"" + userJohn.getId() + ".0\"");
+
+        // All of them read version 0, only one may write it
+        assertEquals(1, statuses.stream().filter(status -> status == 200).count(), statuses.toString());
+        assertEquals(threads - 1, statuses.stream().filter(status -> status == 412 || status == 409).count());
+        assertEquals(1, userRepo.findById(userJohn.getId()).orElseThrow().getVersion());
+    }
+
+    // Through the service like the registration race above: the retries are expected repeated statements
+    private List<Integer> patchConcurrently(int threads, String ifMatch) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> results = new ArrayList<>();
+        Long expectedVersion = UserETags.expectedVersion(ifMatch, userJohn.getId());
+        try {
+            for (int i = 0; i < threads; i++) {
+                UserPatchDTO dto = new UserPatchDTO(null, null, 30 + i, null, null);
+                results.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        userService.patchUser(userJohn.getId(), dto, expectedVersion);
+                        return 200;
+                    } catch (OptimisticLockingFailureException ex) {
+                        return 409;
+                    } catch (PreconditionFailedException ex) {
+                        return 412;
+                    }
+                }));
+            }
+            start.countDown();
+            List<Integer> statuses = new ArrayList<>();
+            for (Future<Integer> result : results) {
+                statuses.add(result.get());
+            }
+            return statuses;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testGetUserById_CachedAndEvictedOnUpdate() throws Exception {
+        mockMvc.perform(get("/user/{id}", userJohn.getId()))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/user/{id}", userJohn.getId()))
+                .andExpect(jsonPath("$.name").value("John"));
+
+        userJohn.setName("John Smith");
+        mockMvc.perform(put("/user/{id}", userJohn.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(userJohn)))
+                .andExpect(status().isOk());
+
+        // Evicted by the update: loaded again once, then served from the cache
+        queries.measure(() -> mockMvc.perform(get("/user/{id}", userJohn.getId()))
+                        .andExpect(jsonPath("$.name").value("John Smith")))
+                .assertStatementsAtMost(1);
+        queries.measure(() -> mockMvc.perform(get("/user/{id}", userJohn.getId()))
+                        .andExpect(jsonPath("$.name").value("John Smith")))
+                .assertStatementsAtMost(0);
+
+        mockMvc.perform(get("/admin/cache/stats").header(AdminAccessInterceptor.TOKEN_HEADER, "test-admin-token"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].name").value("users"))
+                .andExpect(jsonPath("$.data[0].hitCount").value(greaterThanOrEqualTo(2)));
+    }
+
+    @Test
+    void testAdminEndpointsNeedToken() throws Exception {
+        mockMvc.perform(post("/admin/search-index/rebuild"))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(put("/admin/password-hashing").param("strength", "31")
+                        .header(AdminAccessInterceptor.TOKEN_HEADER, "wrong-token"))
+                .andExpect(status().isForbidden());
+
+        mockMvc.perform(put("/admin/password-hashing").param("strength", "31")
+                        .header(AdminAccessInterceptor.TOKEN_HEADER, "test-admin-token"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void testDeleteUser() throws Exception {
         mockMvc.perform(delete("/user/{id}", userJohn.getId()))
@@ -108,5 +460,298 @@ public class UserIntegrationTest {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    void testGetUsersByIds_KeepsOrderAndReportsMissing() throws Exception {
+        userRepo.save(userAlice);
+        long missingId = userAlice.getId() + 1000;
+
+        mockMvc.perform(get("/user/by-ids")
+                        .param("ids", userAlice.getId() + "," + missingId + "," + userJohn.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.users.*.name", contains("Alice", "John")))
+                .andExpect(jsonPath("$.data.users['" + userJohn.getId() + "'].email").value("john@example.com"))
+                .andExpect(jsonPath("$.data.missing", contains((int) missingId)))
+                .andExpect(jsonPath("$.message").value("2 users found, 1 missing"));
+
+        mockMvc.perform(post("/user/by-ids")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(userJohn.getId(), userAlice.getId()))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.users.*.name", contains("John", "Alice")))
+                .andExpect(jsonPath("$.data.missing").isEmpty());
+
+        mockMvc.perform(post("/user/by-ids")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testSearchUsers_ByPartialNameOrEmail() throws Exception {
+        User johanna = new User(null, "Johanna", 31, "jo.smith@example.com", "9876543219", "Pass@1234");
+        mockMvc.perform(post("/user")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(johanna)))
+                .andExpect(status().isCreated());
+
+        // Served from the index: no statement, prefix matches ahead of the inner ones
+        queries.measure(() -> mockMvc.perform(get("/user/search").param("q", "JOH"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.data[*].name", contains("John", "Johanna")))
+                                .andExpect(jsonPath("$.message").value("2 users found")))
+                .assertStatementsAtMost(0);
+
+        mockMvc.perform(get("/user/search").param("q", "smith@exa"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[*].email", contains("jo.smith@example.com")));
+
+        mockMvc.perform(get("/user/search").param("q", "jo"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testQueryBudget_GetUsersByIds() throws Exception {
+        userRepo.save(userAlice);
+
+        // One IN query for all misses, instead of a findById per id
+        queries.measure(() -> mockMvc.perform(get("/user/by-ids")
+                                .param("ids", userJohn.getId() + "," + userAlice.getId() + ",999999"))
+                        .andExpect(status().isOk()))
+                .assertStatementsAtMost(1);
+
+        // Both users were cached by the first lookup (and serve GET /user/{id} too)
+        queries.measure(() -> mockMvc.perform(get("/user/by-ids")
+                                .param("ids", userJohn.getId() + "," + userAlice.getId()))
+                        .andExpect(status().isOk()))
+                .assertStatementsAtMost(0);
+        queries.measure(() -> mockMvc.perform(get("/user/{id}", userAlice.getId())).andExpect(status().isOk()))
+                .assertStatementsAtMost(0);
+    }
+
+    @Test
+    void testDeleteUsersByAge() throws Exception {
+        userRepo.save(userAlice);
+        userRepo.save(new User(null, "Bob", 31, "bob@example.com", "8897564322", "Pass@1234"));
+        mockMvc.perform(get("/user/{id}", userAlice.getId())).andExpect(status().isOk());
+
+        mockMvc.perform(delete("/user/batch").param("minAge", "20").param("maxAge", "24"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.deleted").value(2))
+                .andExpect(jsonPath("$.message").value("2 users deleted"));
+
+        assertEquals(List.of("Bob"), userRepo.findAll().stream().map(User::getName).toList());
+        // Evicted along with the row
+        mockMvc.perform(get("/user/{id}", userAlice.getId())).andExpect(status().isNotFound());
+
+        mockMvc.perform(delete("/user/batch").param("minAge", "40").param("maxAge", "30"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testConditionalGet_UserById() throws Exception {
+        String etag = mockMvc.perform(get("/user/{id}", userJohn.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"" + userJohn.getId() + ".0\""))
+                .andReturn().getResponse().getHeader("ETag");
+
+        // The cached DTO carries the version: no database read and no body
+        queries.measure(() -> mockMvc.perform(get("/user/{id}", userJohn.getId()).header("If-None-Match", etag))
+                        .andExpect(status().isNotModified())
+                        .andExpect(header().string("ETag", etag))
+                        .andExpect(content().string("")))
+                .assertStatementsAtMost(0);
+
+        userJohn.setName("John Doe");
+        mockMvc.perform(put("/user/{id}", userJohn.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(userJohn)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/user/{id}", userJohn.getId()).header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"" + userJohn.getId() + ".1\""))
+                .andExpect(jsonPath("$.name").value("John Doe"));
+    }
+
+    @Test
+    void testConditionalGet_Page() throws Exception {
+        String etag = mockMvc.perform(get("/user").param("page", "0").param("size", "10"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/user").param("page", "0").param("size", "10").header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        userRepo.save(userAlice);
+
+        mockMvc.perform(get("/user").param("page", "0").param("size", "10").header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.content.length()").value(2));
+    }
+
+    @Test
+    void testIfMatch_UpdateAndDelete() throws Exception {
+        String etag = mockMvc.perform(get("/user/{id}", userJohn.getId()))
+                .andReturn().getResponse().getHeader("ETag");
+        String body = objectMapper.writeValueAsString(
+                new UserRegisterDTO("John Doe", "john@example.com", 25, "Abcd@1224", "987676543"));
+
+        String updated = mockMvc.perform(put("/user/{id}", userJohn.getId())
+                        .header("If-Match", etag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"" + userJohn.getId() + ".1\""))
+                .andReturn().getResponse().getHeader("ETag");
+
+        // The first ETag is outdated now
+        mockMvc.perform(put("/user/{id}", userJohn.getId())
+                        .header("If-Match", etag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.message").value("Precondition failed"));
+        mockMvc.perform(delete("/user/{id}", userJohn.getId()).header("If-Match", etag))
+                .andExpect(status().isPreconditionFailed());
+        mockMvc.perform(delete("/user/{id}", userJohn.getId()).header("If-Match", "W/" + updated))
+                .andExpect(status().isPreconditionFailed());
+
+        mockMvc.perform(delete("/user/{id}", userJohn.getId()).header("If-Match", updated))
+                .andExpect(status().isNoContent());
+    }
+
+    @Test
+    void testQueryBudget_GetUserById() throws Exception {
+        queries.measure(() -> mockMvc.perform(get("/user/{id}", userJohn.getId())).andExpect(status().isOk()))
+                .assertStatementsAtMost(1)
+                .assertRowsFetchedAtMost(1);
+
+        // Served from the users cache
+        queries.measure(() -> mockMvc.perform(get("/user/{id}", userJohn.getId())).andExpect(status().isOk()))
+                .assertStatementsAtMost(0);
+    }
+
+    @Test
+    void testUniquenessIndex_EmailsIgnoreCase() {
+        // The unique key compares emails case-insensitively, the filter must not answer "definitely absent"
+        assertTrue(uniquenessIndex.mightContainEmail("John@Example.COM"));
+
+        uniquenessIndex.add("Alice@Example.com", userAlice.getPhoneNo());
+        assertTrue(uniquenessIndex.mightContainEmail("alice@example.com"));
+    }
+
+    @Test
+    void testQueryBudget_AddUser() throws Exception {
+        // The INSERT only: the uniqueness index rules the new email and phone number out. The id block
+        // refill of the pooled generator (one per 50 inserts) may add its own two statements
+        queries.measure(() -> mockMvc.perform(post("/user")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(userAlice)))
+                        .andExpect(status().isCreated()))
+                .assertStatementsAtMost(1, "user")
+                .assertStatementsAtMost(3);
+    }
+
+    @Test
+    void testQueryBudget_AddUsersBatch() throws Exception {
+        List<UserRegisterDTO> batch = List.of(
+                new UserRegisterDTO("Alice", "alice@example.com", 23, "Pass@1234", "9876543212"),
+                new UserRegisterDTO("Bob", "bob@example.com", 31, "Pass@1234", "8897564322"),
+                new UserRegisterDTO("Carol", "carol@example.com", 35, "Pass@1234", "8897564323"),
+                new UserRegisterDTO("Dave", "dave@example.com", 36, "Pass@1234", "8897564324"));
+
+        // At most one duplicate lookup for the whole batch and one JDBC batch of INSERTs
+        queries.measure(() -> mockMvc.perform(post("/user/batch")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(batch)))
+                        .andExpect(status().isCreated()))
+                .assertStatementsAtMost(2, "user")
+                .assertStatementsAtMost(4);
+    }
+
+    @Test
+    void testQueryBudget_GetUsersPage() throws Exception {
+        userRepo.save(userAlice);
+
+        // The total comes from the maintained count, no COUNT(*)
+        queries.measure(() -> mockMvc.perform(get("/user").param("page", "0").param("size", "10")
+                                .param("count", "approximate"))
+                        .andExpect(status().isOk()))
+                .assertStatementsAtMost(1)
+                .assertRowsFetchedAtMost(2);
+
+        queries.measure(() -> mockMvc.perform(get("/user").param("size", "10").param("count", "exact"))
+                        .andExpect(status().isOk()))
+                .assertStatementsAtMost(2)
+                .assertRowsFetchedAtMost(3);
+    }
+
+    @Test
+    void testGetUsers_ApproximateCountFollowsWritesUntilReconciled() throws Exception {
+        mockMvc.perform(post("/user")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(userAlice)))
+                .andExpect(status().isCreated());
+        mockMvc.perform(get("/user").param("size", "1").param("count", "approximate"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.totalElements").value(2));
+
+        // Written behind UserService's back: only an exact count or the reconcile sees it
+        userRepo.save(new User(null, "Bob", 31, "bob@example.com", "8897564322", "Pass@1234"));
+        mockMvc.perform(get("/user").param("size", "1").param("count", "approximate"))
+                .andExpect(jsonPath("$.data.totalElements").value(2));
+        mockMvc.perform(get("/user").param("size", "1").param("count", "exact"))
+                .andExpect(jsonPath("$.data.totalElements").value(3));
+
+        userCounter.reconcile();
+        mockMvc.perform(delete("/user/{id}", userJohn.getId())).andExpect(status().isNoContent());
+        mockMvc.perform(get("/user").param("size", "1").param("count", "approximate"))
+                .andExpect(jsonPath("$.data.totalElements").value(2))
+                .andExpect(jsonPath("$.data.totalPages").value(2));
+
+        mockMvc.perform(get("/user").param("count", "roughly"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testQueryBudget_DeleteUser() throws Exception {
+        // A single DELETE by primary key, nothing is loaded
+        queries.measure(() -> mockMvc.perform(delete("/user/{id}", userJohn.getId())).andExpect(status().isNoContent()))
+                .assertStatementsAtMost(1, "user")
+                .assertRowsFetchedAtMost(0);
+    }
+
+    @Test
+    void testQueryBudget_DeleteUsersByIds() throws Exception {
+        userRepo.save(userAlice);
+
+        // One DELETE ... IN for the whole chunk
+        queries.measure(() -> mockMvc.perform(post("/user/batch/delete")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(List.of(userJohn.getId(), userAlice.getId(), 999999L))))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.data.deleted").value(2))
+                        .andExpect(jsonPath("$.data.missing").value(1)))
+                .assertStatementsAtMost(1, "user");
+
+        assertEquals(0, userRepo.count());
+    }
+
+    @Test
+    void testQueryBudget_ReportsRepeatedStatements() throws Exception {
+        userRepo.save(userAlice);
+        User bob = userRepo.save(new User(null, "Bob", 31, "bob@example.com", "8897564322", "Pass@1234"));
+
+        QueryBudget.Usage usage = queries.measure(() -> {
+            for (Long id : List.of(userJohn.getId(), userAlice.getId(), bob.getId())) {
+                userRepo.findById(id);
+            }
+        });
+
+        assertEquals(1, usage.getRepeatedStatements().size());
+        assertEquals(3L, usage.getRepeatedStatements().values().iterator().next());
+        assertEquals(3, usage.getRowsFetched());
+    }
 
 }
@@ -2,6 +2,10 @@ package com.example.user_information;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -9,22 +13,47 @@ import static org.mockito.Mockito.when;
 import java.util.List;
 import java.util.Optional;
 
+import com.example.user_information.Exception.PreconditionFailedException;
 import com.example.user_information.Exception.ResourceNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.user_information.Common.Status;
+import com.example.user_information.Config.CacheConfig;
+import com.example.user_information.DTO.UserBatchResultDTO;
+import com.example.user_information.DTO.UserDeleteResultDTO;
+import com.example.user_information.DTO.UserLookupDTO;
+import com.example.user_information.DTO.UserPatchDTO;
 import com.example.user_information.DTO.UserRegisterDTO;
 import com.example.user_information.DTO.UserResponseDTO;
 import com.example.user_information.Entity.User;
 import com.example.user_information.Repository.UserRepo;
+import com.example.user_information.Service.PasswordHasher;
 import com.example.user_information.Service.UserImpl;
+import com.example.user_information.Service.UserCounter;
+import com.example.user_information.Service.UserSearchIndex;
+import com.example.user_information.Service.UserUniquenessIndex;
+
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
 
 public class UserServiceTest {
 
@@ -34,6 +63,27 @@ public class UserServiceTest {
 	@Mock
 	private UserRepo userRepo;
 
+	@Mock
+	private UserUniquenessIndex uniquenessIndex;
+
+	@Mock
+	private PasswordHasher passwordHasher;
+
+	@Mock
+	private UserSearchIndex searchIndex;
+
+	@Mock
+	private UserCounter userCounter;
+
+	@Spy
+	private CacheManager cacheManager = new ConcurrentMapCacheManager(CacheConfig.USERS_CACHE);
+
+	@Spy
+	private TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+
+	@Spy
+	private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
 	private UserRegisterDTO dto;
 	
 	
@@ -47,7 +97,16 @@ public class UserServiceTest {
 				25,
 				"Password@786",
 				"9876523430"
-				);		
+				);
+
+		// Default to "maybe present" so the exists queries are exercised
+		when(uniquenessIndex.mightContainEmail(any())).thenReturn(true);
+		when(uniquenessIndex.mightContainPhoneNo(any())).thenReturn(true);
+
+		when(passwordHasher.hash(any())).thenAnswer(inv -> "hashed:" + inv.getArgument(0));
+		when(passwordHasher.hashAll(any())).thenAnswer(inv -> inv.<List<String>>getArgument(0).stream()
+				.map(password -> "hashed:" + password)
+				.toList());
 	}
 	
 
@@ -79,6 +138,28 @@ public class UserServiceTest {
 	
 	
 
+	@Test
+	public void testAddUser_SkipsExistsQueriesWhenIndexRulesOut() {
+		when(uniquenessIndex.mightContainEmail(dto.getEmail())).thenReturn(false);
+		when(uniquenessIndex.mightContainPhoneNo(dto.getPhoneNo())).thenReturn(false);
+
+		ApiResponse<UserResponseDTO> response = userImpl.addUser(dto);
+
+		assertEquals(201, response.getCode());
+		verify(userRepo, times(0)).existsByEmail(any());
+		verify(userRepo, times(0)).existsByPhoneNo(any());
+		verify(uniquenessIndex, times(1)).add(dto.getEmail(), dto.getPhoneNo());
+	}
+
+	@Test
+	public void testAddUser_StoresPasswordHash() {
+		userImpl.addUser(dto);
+
+		ArgumentCaptor<User> saved = ArgumentCaptor.forClass(User.class);
+		verify(userRepo, times(1)).save(saved.capture());
+		assertEquals("hashed:" + dto.getPassword(), saved.getValue().getPassword());
+	}
+
 	@Test
 	public void testAddUser_EmailAlreadyExist() {
 
@@ -111,12 +192,54 @@ public class UserServiceTest {
 
         when(userRepo.findAll(pageable)).thenReturn(page);
 
-        Page<UserResponseDTO> response = userImpl.getUsers(pageable);
+        Page<UserResponseDTO> response = userImpl.getUsers(pageable, true);
 
         assertEquals(1 , response.getTotalElements());
         assertEquals("john@example.com" , response.getContent().get(0).getEmail());
     }
 
+    @Test
+    public void testGetUsers_ApproximateCountSkipsCountQuery() {
+        User user = new User(1L, "John Doe", 26 , "john@example.com"  , "9874563210" , "Abcd@1234");
+        Pageable pageable = PageRequest.of(0, 1);
+
+        when(userCounter.get()).thenReturn(42L);
+        when(userRepo.findAllBy(pageable)).thenReturn(List.of(user));
+
+        Page<UserResponseDTO> response = userImpl.getUsers(pageable, false);
+
+        assertEquals(42, response.getTotalElements());
+        verify(userRepo, never()).findAll(any(Pageable.class));
+
+        // Not counted yet: falls back to the exact page
+        when(userCounter.get()).thenReturn(UserCounter.UNKNOWN);
+        when(userRepo.findAll(pageable)).thenReturn(new PageImpl<>(List.of(user), pageable, 7));
+
+        assertEquals(7, userImpl.getUsers(pageable, false).getTotalElements());
+    }
+
+    @Test
+    public void testUserCounter_ReconcileKeepsWritesMadeDuringTheCount() {
+        UserRepo repo = mock(UserRepo.class);
+        UserCounter counter = new UserCounter(repo);
+        // A write commits while COUNT(*) runs, the count does not include it
+        when(repo.count()).thenAnswer(invocation -> {
+            counter.add(1);
+            return 10L;
+        });
+
+        counter.reconcile();
+        assertEquals(11, counter.get());
+
+        // Every reconcile takes effect, however many writes overlap it
+        when(repo.count()).thenAnswer(invocation -> {
+            counter.add(-1);
+            return 20L;
+        });
+        counter.reconcile();
+        assertEquals(19, counter.get());
+    }
+
     @Test
     public void test_GetUserFailed() {
         Pageable pageable = PageRequest.of(0, 10);
@@ -124,7 +247,7 @@ public class UserServiceTest {
         Page<User> emptyPage = new PageImpl<>(List.of());
         when(userRepo.findAll(pageable)).thenReturn(emptyPage);
 
-        ResourceNotFoundException ex = assertThrows(ResourceNotFoundException.class, () -> userImpl.getUsers(pageable));
+        ResourceNotFoundException ex = assertThrows(ResourceNotFoundException.class, () -> userImpl.getUsers(pageable, true));
         assertEquals("No users found.", ex.getMessage());
     }
 	
@@ -156,16 +279,130 @@ public class UserServiceTest {
         verify(userRepo, times(1)).findById(userId);
     }
 
+    @Test
+    public void testGetUsersByIds_CacheThenOneQueryInCallerOrder() {
+        UserResponseDTO cached = new UserResponseDTO("Cached", "cached@example.com", "9876543210", 3L, 0L);
+        cacheManager.getCache(CacheConfig.USERS_CACHE).put(3L, cached);
+        User user = new User(1L, "John", 30, "john@example.com", "9876543211", "hash");
+
+        when(userRepo.findAllById(List.of(7L, 1L))).thenReturn(List.of(user));
+
+        UserLookupDTO lookup = userImpl.getUsersByIds(List.of(7L, 3L, 1L, 3L));
+
+        assertEquals(List.of(3L, 1L), List.copyOf(lookup.getUsers().keySet()));
+        assertSame(cached, lookup.getUsers().get(3L));
+        assertEquals("John", lookup.getUsers().get(1L).getName());
+        assertEquals(List.of(7L), lookup.getMissing());
+        // Loaded users are cached for the next lookup
+        assertNotNull(cacheManager.getCache(CacheConfig.USERS_CACHE).get(1L));
+        verify(userRepo, times(1)).findAllById(any());
+    }
+
+    @Test
+    public void testGetUsersByIds_DoesNotCacheRowsEvictedWhileLoading() {
+        User user = new User(1L, "John", 30, "john@example.com", "9876543211", "hash");
+
+        // A delete commits (and evicts) between the SELECT and the cache write
+        when(userRepo.findAllById(List.of(1L))).thenAnswer(inv -> {
+            userImpl.deleteUsersByIds(List.of(1L));
+            return List.of(user);
+        });
+
+        UserLookupDTO lookup = userImpl.getUsersByIds(List.of(1L));
+
+        assertEquals("John", lookup.getUsers().get(1L).getName());
+        assertNull(cacheManager.getCache(CacheConfig.USERS_CACHE).get(1L));
+    }
+
+    @Test
+    public void testGetUsersByIds_Empty() {
+        assertThrows(IllegalArgumentException.class, () -> userImpl.getUsersByIds(List.of()));
+        verify(userRepo, times(0)).findAllById(any());
+    }
+
+    @Test
+    public void testDeleteUsersByIds_CountsMissingAndEvicts() {
+        cacheManager.getCache(CacheConfig.USERS_CACHE).put(1L, new UserResponseDTO("John", "john@example.com", "9876543211"));
+
+        when(userRepo.deleteRowsByIds(List.of(1L, 2L, 3L))).thenReturn(2);
+
+        UserDeleteResultDTO result = userImpl.deleteUsersByIds(List.of(1L, 2L, 1L, 3L));
+
+        assertEquals(2, result.getDeleted());
+        assertEquals(1, result.getMissing());
+        assertNull(cacheManager.getCache(CacheConfig.USERS_CACHE).get(1L));
+    }
+
+    @Test
+    public void testDeleteUsersByAge_DeletesInChunks() {
+        ReflectionTestUtils.setField(userImpl, "deleteChunkSize", 2);
+
+        when(userRepo.findIdsByAgeBetween(eq(20), eq(30), eq(Long.MIN_VALUE), any(Limit.class))).thenReturn(List.of(1L, 4L));
+        when(userRepo.findIdsByAgeBetween(eq(20), eq(30), eq(4L), any(Limit.class))).thenReturn(List.of(9L));
+        when(userRepo.deleteRowsByIds(any())).thenAnswer(inv -> inv.<List<Long>>getArgument(0).size());
+
+        UserDeleteResultDTO result = userImpl.deleteUsersByAge(20, 30);
+
+        assertEquals(3, result.getDeleted());
+        verify(userRepo, times(1)).deleteRowsByIds(List.of(1L, 4L));
+        verify(userRepo, times(1)).deleteRowsByIds(List.of(9L));
+    }
+
+    @Test
+    public void testPatchUser_OnlyGivenFields() {
+        User user = new User(1L, "John", 30, "john@example.com", "9876543211", "hash");
+        user.setVersion(0L);
+
+        when(userRepo.findById(1L)).thenReturn(Optional.of(user));
+
+        UserResponseDTO response = userImpl.patchUser(1L, new UserPatchDTO("John Doe", null, null, null, null), null);
+
+        assertEquals("John Doe", response.getName());
+        assertEquals("john@example.com", user.getEmail());
+        assertEquals(30, user.getAge());
+        assertEquals("hash", user.getPassword());
+        verify(userRepo, times(1)).flush();
+        verify(passwordHasher, times(0)).hash(any());
+    }
+
+    @Test
+    public void testPatchUser_RetriesOptimisticConflicts() {
+        User user = new User(1L, "John", 30, "john@example.com", "9876543211", "hash");
+
+        when(userRepo.findById(1L)).thenReturn(Optional.of(user));
+        doThrow(new ObjectOptimisticLockingFailureException(User.class, 1L))
+                .doThrow(new ObjectOptimisticLockingFailureException(User.class, 1L))
+                .doNothing()
+                .when(userRepo).flush();
+
+        userImpl.patchUser(1L, new UserPatchDTO(null, null, 31, null, null), null);
+
+        verify(userRepo, times(3)).findById(1L);
+    }
+
+    @Test
+    public void testPatchUser_ConflictAfterMaxAttempts() {
+        User user = new User(1L, "John", 30, "john@example.com", "9876543211", "hash");
+
+        when(userRepo.findById(1L)).thenReturn(Optional.of(user));
+        doThrow(new ObjectOptimisticLockingFailureException(User.class, 1L)).when(userRepo).flush();
+
+        assertThrows(OptimisticLockingFailureException.class,
+                () -> userImpl.patchUser(1L, new UserPatchDTO(null, null, 31, null, null), null));
+        verify(userRepo, times(5)).findById(1L);
+    }
+
     @Test
     public void test_UpdateUserSuccess() {
         Long userId = 1L;
         User user = new User(userId, "Fazil khan", 23, "fazil@example.com", "9786541230", "Pass@12345");
 
         when(userRepo.findById(userId)).thenReturn(Optional.of(user));
+        when(userRepo.save(user)).thenReturn(user);
 
         UserRegisterDTO dto = new UserRegisterDTO("Qais Khan", "qais@example.com" , 24, "Asdfgh@123", "9874546123");
 
-        UserResponseDTO response = userImpl.updateUser(userId, dto);
+        UserResponseDTO response = userImpl.updateUser(userId, dto, null);
 
         assertEquals("Qais Khan" , response.getName());
         assertEquals("qais@example.com" , response.getEmail());
@@ -174,6 +411,24 @@ public class UserServiceTest {
         verify(userRepo, times(1)).save(user);
     }
 
+    @Test
+    public void test_UpdateUserStaleVersion() {
+        Long userId = 1L;
+        User user = new User(userId, "Fazil khan", 23, "fazil@example.com", "9786541230", "Pass@12345");
+        user.setVersion(3L);
+        UserRegisterDTO dto = new UserRegisterDTO("Qais Khan", "qais@example.com", 24 , "Asdfgh@123", "9874546123");
+
+        when(userRepo.findById(userId)).thenReturn(Optional.of(user));
+
+        when(userRepo.deleteRowByIdAndVersion(userId, 2L)).thenReturn(0);
+        when(userRepo.existsById(userId)).thenReturn(true);
+
+        assertThrows(PreconditionFailedException.class, () -> userImpl.updateUser(userId, dto, 2L));
+        assertThrows(PreconditionFailedException.class, () -> userImpl.deleteUserById(userId, 2L));
+
+        verify(userRepo, times(0)).save(any(User.class));
+    }
+
     @Test
     public void test_UpdateUserFailed() {
         Long userId = 2L;
@@ -181,7 +436,7 @@ public class UserServiceTest {
 
         when(userRepo.findById(userId)).thenReturn(Optional.empty());
 
-        ResourceNotFoundException ex = assertThrows(ResourceNotFoundException.class, () -> userImpl.updateUser(userId, dto));
+        ResourceNotFoundException ex = assertThrows(ResourceNotFoundException.class, () -> userImpl.updateUser(userId, dto, null));
 
         assertEquals("User not found with Id" + userId, ex.getMessage());
     }
@@ -189,25 +444,83 @@ public class UserServiceTest {
     @Test
     public void test_deleteUserSuccess() {
         Long userId = 1L;
-        User user = new User(userId, "John", 26, "john@example.com" , "9874546123" , "Pass@1234");
 
-        when(userRepo.findById(userId)).thenReturn(Optional.of(user));
+        when(userRepo.deleteRowById(userId)).thenReturn(1);
 
-        userImpl.deleteUserById(userId);
+        userImpl.deleteUserById(userId, null);
 
-        verify(userRepo, times(1)).delete(user);
+        verify(userRepo, times(1)).deleteRowById(userId);
+        verify(userRepo, times(0)).findById(any());
     }
 
     @Test
     public void test_deleteUserFailed() {
         Long userId = 2L;
 
-        when(userRepo.findById(userId)).thenReturn(Optional.empty());
+        when(userRepo.deleteRowById(userId)).thenReturn(0);
 
-        ResourceNotFoundException ex = assertThrows(ResourceNotFoundException.class, () -> userImpl.deleteUserById(userId));
+        ResourceNotFoundException ex = assertThrows(ResourceNotFoundException.class, () -> userImpl.deleteUserById(userId, null));
 
         assertEquals("User not found with Id" + userId, ex.getMessage());
     }
 
 
+    @Test
+    public void testAddUsers_PartialSuccess() {
+        UserRegisterDTO invalid = new UserRegisterDTO("", "not-an-email", 24, "Asdfgh@123", "9874546123");
+        UserRegisterDTO duplicateInBatch = new UserRegisterDTO("Qais", dto.getEmail(), 24, "Asdfgh@123", "9874546124");
+        UserRegisterDTO taken = new UserRegisterDTO("Fazil", "fazil@example.com", 23, "Asdfgh@123", "9874546125");
+
+        UserRepo.ContactView existing = mock(UserRepo.ContactView.class);
+        when(existing.getEmail()).thenReturn("fazil@example.com");
+        when(userRepo.findContacts(any(), any())).thenReturn(List.of(existing));
+
+        ApiResponse<List<UserBatchResultDTO>> response =
+                userImpl.addUsers(List.of(dto, invalid, duplicateInBatch, taken));
+
+        assertEquals(207, response.getCode());
+        List<UserBatchResultDTO> results = response.getData();
+        assertEquals(Status.SUCCESS, results.get(0).getStatus());
+        assertEquals(dto.getEmail(), results.get(0).getUser().getEmail());
+        assertEquals(Status.FAIL, results.get(1).getStatus());
+        assertEquals(2, results.get(1).getErrors().size());
+        assertEquals(List.of("Email duplicated within batch"), results.get(2).getErrors());
+        assertEquals(List.of("Email already registered"), results.get(3).getErrors());
+
+        verify(userRepo, times(1)).findContacts(any(), any());
+        verify(userRepo, times(1)).saveAll(List.of(new User(null, dto.getName(), dto.getAge(),
+                dto.getEmail(), dto.getPhoneNo(), "hashed:" + dto.getPassword())));
+        verify(userRepo, times(0)).existsByEmail(any());
+        // Only the row that gets saved is hashed
+        verify(passwordHasher).hashAll(List.of(dto.getPassword()));
+    }
+
+    @Test
+    public void testAddUsers_ConcurrentDuplicateRejectsOnlyThatRow() {
+        UserRegisterDTO racing = new UserRegisterDTO("Fazil", "fazil@example.com", 23, "Asdfgh@123", "9874546125");
+        when(userRepo.saveAll(any())).thenThrow(new DataIntegrityViolationException("Duplicate entry for key 'uk_user_email'"));
+        when(userRepo.save(any(User.class))).thenAnswer(inv -> {
+            User user = inv.getArgument(0);
+            if (user.getEmail().equals(racing.getEmail())) {
+                throw new DataIntegrityViolationException("Duplicate entry for key 'uk_user_phone_no'");
+            }
+            return user;
+        });
+
+        ApiResponse<List<UserBatchResultDTO>> response = userImpl.addUsers(List.of(dto, racing));
+
+        assertEquals(207, response.getCode());
+        assertEquals(Status.SUCCESS, response.getData().get(0).getStatus());
+        assertEquals(List.of("Phone number already registered"), response.getData().get(1).getErrors());
+        verify(userCounter).add(1);
+    }
+
+    @Test
+    public void testAddUsers_EmptyBatch() {
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () -> userImpl.addUsers(List.of()));
+
+        assertEquals("Batch must contain at least one user", ex.getMessage());
+    }
+
+
 }